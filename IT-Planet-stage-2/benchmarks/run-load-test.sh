@@ -0,0 +1,32 @@
+#!/usr/bin/env sh
+# Starts a throwaway Postgres (docker-compose service db-loadtest), the application against it,
+# and the open-loop load generator. All arguments are passed to the generator, e.g.
+#
+#   benchmarks/run-load-test.sh --rate=500 --duration=60 --mix=weather-read:60,search:20,weather-write:20
+#
+# Extra application arguments can be passed through APP_ARGS (e.g. APP_ARGS=--spring.profiles.active=virtual-threads).
+set -eu
+
+PORT=${PORT:-8080}
+DB_PORT=${DB_PORT:-5433}
+BASE_URL="http://localhost:$PORT"
+
+cd "$(dirname "$0")/.."
+docker-compose --profile loadtest up -d db-loadtest
+trap 'docker-compose --profile loadtest rm -sf db-loadtest >/dev/null' EXIT
+
+./mvnw -q -DskipTests package
+JAR=target/IT-Planet-stage-2-0.0.1-SNAPSHOT.jar
+
+java -jar "$JAR" --server.port="$PORT" \
+    --spring.datasource.url="jdbc:postgresql://localhost:$DB_PORT/climatica" \
+    --spring.jpa.show-sql=false ${APP_ARGS:-} > target/loadtest-app.log 2>&1 &
+APP_PID=$!
+trap 'kill "$APP_PID" 2>/dev/null || true; docker-compose --profile loadtest rm -sf db-loadtest >/dev/null' EXIT
+
+for _ in $(seq 1 120); do
+    if curl -s -o /dev/null "$BASE_URL/login"; then break; fi
+    sleep 1
+done
+
+./mvnw -q -Ploadtest test-compile exec:exec -Dloadtest.args="--baseUrl=$BASE_URL $*"
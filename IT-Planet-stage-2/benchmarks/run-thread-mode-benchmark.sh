@@ -0,0 +1,17 @@
+#!/usr/bin/env sh
+# Compares platform-thread and virtual-thread request handling on the weather read/write mix by running the
+# open-loop load generator (run-load-test.sh) once per mode. Arguments are passed to the generator after the
+# defaults below, so any of them can be overridden, e.g.
+#
+#   benchmarks/run-thread-mode-benchmark.sh --rate=3000 --maxInFlight=800
+#
+# Reports are written to target/loadtest-platform.json and target/loadtest-virtual.json.
+set -eu
+
+cd "$(dirname "$0")/.."
+DEFAULTS="--rate=2000 --duration=60 --maxInFlight=400 --mix=weather-read:80,weather-write:20"
+
+APP_ARGS=--spring.profiles.active=default \
+    benchmarks/run-load-test.sh $DEFAULTS --output=target/loadtest-platform.json "$@"
+APP_ARGS=--spring.profiles.active=virtual-threads \
+    benchmarks/run-load-test.sh $DEFAULTS --output=target/loadtest-virtual.json "$@"
@@ -0,0 +1,75 @@
+package org.example.climatica.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.climatica.region.dro.RegionResponseDto;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of the response DTOs, using an ObjectMapper configured the way Spring MVC builds it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private WeatherDataResponse weatherDataResponse;
+    private RegionResponseDto regionResponseDto;
+    private List<WeatherDataResponse> weatherPage;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        weatherDataResponse = new WeatherDataResponse();
+        weatherDataResponse.setId(1001L);
+        weatherDataResponse.setRegionName("Minsk");
+        weatherDataResponse.setTemperature(21.5f);
+        weatherDataResponse.setHumidity(63.0f);
+        weatherDataResponse.setWindSpeed(4.2f);
+        weatherDataResponse.setWeatherCondition("CLOUDY");
+        weatherDataResponse.setPrecipitationAmount(0.3f);
+        weatherDataResponse.setMeasurementDateTime(LocalDateTime.of(2024, 4, 1, 12, 0));
+        weatherDataResponse.setWeatherForecast(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L));
+
+        regionResponseDto = new RegionResponseDto();
+        regionResponseDto.setId(42L);
+        regionResponseDto.setName("Minsk");
+        regionResponseDto.setParentRegion("Belarus");
+        regionResponseDto.setParentRegionId(1L);
+        regionResponseDto.setLatitude(53.9);
+        regionResponseDto.setLongitude(27.5667);
+        regionResponseDto.setRegionType(3L);
+
+        weatherPage = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            weatherPage.add(weatherDataResponse);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeWeatherDataResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(weatherDataResponse);
+    }
+
+    @Benchmark
+    public byte[] serializeRegionResponseDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(regionResponseDto);
+    }
+
+    @Benchmark
+    public byte[] serializeWeatherPageOf100() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(weatherPage);
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.climatica.weather;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.climatica.exception.InvalidParametersException;
+import org.example.climatica.model.Region;
+import org.example.climatica.model.WeatherCondition;
+import org.example.climatica.model.WeatherData;
+import org.example.climatica.weather.dto.WeatherDataCreateRequest;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-side pieces of the weather request path that run without a database: entity-to-DTO conversion, request
+ * validation and search parameter parsing. Services are built with null collaborators because none of the
+ * measured methods touch them; metrics go to an in-memory registry.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WeatherHotPathBenchmark {
+
+    private WeatherController controller;
+    private WeatherService service;
+    private WeatherData weatherData;
+    private WeatherDataCreateRequest validRequest;
+    private WeatherDataCreateRequest invalidRequest;
+    private String condition;
+
+    @Setup
+    public void setUp() {
+        service = new WeatherService(null, null, null, null, null, null, null, null, null);
+        controller = new WeatherController(service, null, null, new WeatherMetrics(new SimpleMeterRegistry()), null, null, null);
+
+        Region region = new Region();
+        region.setId(42L);
+        region.setName("Minsk");
+
+        weatherData = new WeatherData();
+        weatherData.setId(1001L);
+        weatherData.setRegion(region);
+        weatherData.setTemperature(21.5f);
+        weatherData.setHumidity(63.0f);
+        weatherData.setWindSpeed(4.2f);
+        weatherData.setWeatherCondition(WeatherCondition.CLOUDY);
+        weatherData.setPrecipitationAmount(0.3f);
+        weatherData.setMeasurementDateTime(LocalDateTime.of(2024, 4, 1, 12, 0));
+        weatherData.setWeatherForecast(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L));
+
+        validRequest = new WeatherDataCreateRequest();
+        validRequest.setRegionId(42L);
+        validRequest.setTemperature(21.5f);
+        validRequest.setHumidity(63.0f);
+        validRequest.setWindSpeed(4.2f);
+        validRequest.setWeatherCondition("STORM");
+        validRequest.setPrecipitationAmount(0.3f);
+        validRequest.setMeasurementDateTime(LocalDateTime.of(2024, 4, 1, 12, 0));
+        validRequest.setWeatherForecast(List.of(1L, 2L, 3L));
+
+        invalidRequest = new WeatherDataCreateRequest();
+        invalidRequest.setRegionId(42L);
+        invalidRequest.setMeasurementDateTime(LocalDateTime.of(2024, 4, 1, 12, 0));
+        invalidRequest.setWeatherCondition("HAIL");
+
+        condition = "STORM";
+    }
+
+    @Benchmark
+    public WeatherDataResponse convertToResponse() {
+        return controller.convertToResponse(weatherData);
+    }
+
+    @Benchmark
+    public WeatherDataCreateRequest validateValidRequest() {
+        controller.validateWeatherData(validRequest);
+        return validRequest;
+    }
+
+    @Benchmark
+    public Object validateInvalidRequest() {
+        try {
+            controller.validateWeatherData(invalidRequest);
+            return null;
+        } catch (InvalidParametersException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Specification<WeatherData> parseSearchParameters() {
+        return service.buildSearchFilters("2024-01-01T00:00:00", "2024-02-01T00:00:00", 42L, "RAIN");
+    }
+
+    @Benchmark
+    public Specification<WeatherData> parseSearchParametersWithoutFilters() {
+        return service.buildSearchFilters(null, null, null, null);
+    }
+
+    @Benchmark
+    public boolean weatherConditionListLookup() {
+        return Arrays.asList("CLEAR", "CLOUDY", "RAIN", "SNOW", "FOG", "STORM").contains(condition);
+    }
+
+    @Benchmark
+    public WeatherCondition weatherConditionValueOf() {
+        return WeatherCondition.valueOf(condition);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.climatica.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+enum Endpoint {
+    REGION_READ("region-read", false) {
+        @Override
+        HttpRequest.Builder request(LoadTestFixture fixture) {
+            return get(fixture, "/region/" + fixture.regionId());
+        }
+    },
+    WEATHER_READ("weather-read", false) {
+        @Override
+        HttpRequest.Builder request(LoadTestFixture fixture) {
+            return get(fixture, "/region/weather/" + fixture.regionId());
+        }
+    },
+    SEARCH("search", false) {
+        @Override
+        HttpRequest.Builder request(LoadTestFixture fixture) {
+            return get(fixture, "/region/weather/search?regionId=" + fixture.regionId() + "&size=20");
+        }
+    },
+    FORECAST_READ("forecast-read", false) {
+        @Override
+        HttpRequest.Builder request(LoadTestFixture fixture) {
+            return get(fixture, "/region/weather/forecast/" + fixture.forecastId());
+        }
+    },
+    WEATHER_WRITE("weather-write", true) {
+        @Override
+        HttpRequest.Builder request(LoadTestFixture fixture) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            // Microsecond offsets keep (region, measurementDateTime) unique so writes are not rejected as duplicates.
+            LocalDateTime measuredAt = LocalDateTime.of(2024, 1, 1, 0, 0).plus(random.nextLong(365L * 24 * 3600 * 1_000_000), ChronoUnit.MICROS);
+            String body = String.format(Locale.ROOT,
+                    "{\"regionId\":%d,\"temperature\":%.1f,\"humidity\":%.1f,\"windSpeed\":%.1f,"
+                            + "\"weatherCondition\":\"CLEAR\",\"precipitationAmount\":%.1f,"
+                            + "\"measurementDateTime\":\"%s\",\"weatherForecast\":[]}",
+                    fixture.regionId(), random.nextDouble(-30, 40), random.nextDouble(0, 100),
+                    random.nextDouble(0, 30), random.nextDouble(0, 10), measuredAt);
+            return fixture.uri("/region/weather")
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body));
+        }
+    },
+    LOGIN("login", true) {
+        @Override
+        HttpRequest.Builder request(LoadTestFixture fixture) {
+            return HttpRequest.newBuilder(URI.create(fixture.baseUrl() + "/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(fixture.credentialsJson()));
+        }
+    };
+
+    private final String name;
+    private final boolean write;
+
+    Endpoint(String name, boolean write) {
+        this.name = name;
+        this.write = write;
+    }
+
+    abstract HttpRequest.Builder request(LoadTestFixture fixture);
+
+    String getName() {
+        return name;
+    }
+
+    boolean isWrite() {
+        return write;
+    }
+
+    static Endpoint fromName(String name) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.name.equals(name)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + name);
+    }
+
+    private static HttpRequest.Builder get(LoadTestFixture fixture, String path) {
+        return fixture.uri(path).GET();
+    }
+}
@@ -0,0 +1,104 @@
+package org.example.climatica.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator: requests are scheduled at a fixed arrival rate regardless of how fast the server
+ * answers, and latency is measured from the scheduled start, so queueing delay is not hidden (no coordinated
+ * omission). Arguments are {@code --name=value}; see {@link LoadTestOptions} for names and defaults.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .enable(SerializationFeature.INDENT_OUTPUT);
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        LoadTestFixture fixture = LoadTestFixture.prepare(client, objectMapper, options);
+
+        if (!options.warmup.isZero()) {
+            run(client, fixture, options, options.warmup, new EnumMap<>(Endpoint.class));
+        }
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        options.mix.keySet().forEach(endpoint -> stats.put(endpoint, new EndpointStats()));
+        long dropped = run(client, fixture, options, options.duration, stats);
+
+        LoadTestReport report = LoadTestReport.of(options, stats, dropped);
+        File output = new File(options.output);
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        objectMapper.writeValue(output, report);
+        System.out.println(objectMapper.writeValueAsString(report));
+    }
+
+    private static long run(HttpClient client, LoadTestFixture fixture, LoadTestOptions options, Duration duration,
+                            Map<Endpoint, EndpointStats> stats) throws InterruptedException {
+        Endpoint[] schedule = weightedSchedule(options.mix);
+        Semaphore inFlight = new Semaphore(options.maxInFlight);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / options.rate;
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long dropped = 0;
+
+        for (long scheduled = start; scheduled < end; scheduled += intervalNanos) {
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+            EndpointStats endpointStats = stats.get(endpoint);
+            if (!inFlight.tryAcquire()) {
+                dropped++;
+                if (endpointStats != null) {
+                    endpointStats.dropped();
+                }
+                continue;
+            }
+            long intendedStart = scheduled;
+            client.sendAsync(endpoint.request(fixture).timeout(Duration.ofSeconds(30)).build(),
+                            HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        inFlight.release();
+                        if (endpointStats != null) {
+                            endpointStats.record(System.nanoTime() - intendedStart,
+                                    error == null && response.statusCode() < 400);
+                        }
+                    });
+        }
+        inFlight.acquire(options.maxInFlight);
+        inFlight.release(options.maxInFlight);
+        return dropped;
+    }
+
+    private static Endpoint[] weightedSchedule(Map<Endpoint, Integer> mix) {
+        Endpoint[] schedule = new Endpoint[mix.values().stream().mapToInt(Integer::intValue).sum()];
+        int position = 0;
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            for (int i = 0; i < entry.getValue(); i++) {
+                schedule[position++] = entry.getKey();
+            }
+        }
+        return schedule;
+    }
+}
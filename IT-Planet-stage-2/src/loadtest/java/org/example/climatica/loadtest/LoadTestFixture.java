@@ -0,0 +1,74 @@
+package org.example.climatica.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+record LoadTestFixture(String baseUrl, String credentialsJson, String sessionCookie, long regionId, long forecastId) {
+
+    HttpRequest.Builder uri(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Cookie", sessionCookie);
+    }
+
+    static LoadTestFixture prepare(HttpClient client, ObjectMapper objectMapper, LoadTestOptions options)
+            throws IOException, InterruptedException {
+        String credentials = objectMapper.writeValueAsString(Map.of(
+                "email", options.email, "password", options.password));
+        String registration = objectMapper.writeValueAsString(Map.of(
+                "firstName", "Load", "lastName", "Test", "email", options.email, "password", options.password));
+        post(client, options.baseUrl + "/registration", null, registration);
+
+        HttpResponse<String> login = post(client, options.baseUrl + "/login", null, credentials);
+        String cookie = login.headers().allValues("Set-Cookie").stream()
+                .filter(value -> value.startsWith("session="))
+                .map(value -> value.split(";", 2)[0])
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Login failed: HTTP " + login.statusCode()));
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String region = String.format(Locale.ROOT, "{\"name\":\"loadtest-%d\",\"latitude\":%.6f,\"longitude\":%.6f}",
+                System.currentTimeMillis(), random.nextDouble(-80, 80), random.nextDouble(-179, 179));
+        long regionId = createdId(objectMapper, post(client, options.baseUrl + "/region", cookie, region));
+
+        String weather = String.format("{\"regionId\":%d,\"temperature\":1,\"humidity\":1,\"windSpeed\":1,"
+                + "\"weatherCondition\":\"CLEAR\",\"precipitationAmount\":0,"
+                + "\"measurementDateTime\":\"2024-01-01T00:00:00\",\"weatherForecast\":[]}", regionId);
+        createdId(objectMapper, post(client, options.baseUrl + "/region/weather", cookie, weather));
+
+        String forecast = String.format("{\"regionId\":%d,\"dateTime\":\"2024-01-02T00:00:00\","
+                + "\"temperature\":1,\"weatherCondition\":\"CLEAR\"}", regionId);
+        long forecastId = createdId(objectMapper, post(client, options.baseUrl + "/region/weather/forecast/", cookie, forecast));
+
+        return new LoadTestFixture(options.baseUrl, credentials, cookie, regionId, forecastId);
+    }
+
+    private static HttpResponse<String> post(HttpClient client, String url, String cookie, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long createdId(ObjectMapper objectMapper, HttpResponse<String> response) throws IOException {
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException("Fixture setup failed: " + response.uri() + " HTTP " + response.statusCode());
+        }
+        JsonNode id = objectMapper.readTree(response.body()).get("id");
+        if (id == null) {
+            throw new IllegalStateException("Fixture setup failed: no id in response from " + response.uri());
+        }
+        return id.asLong();
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.climatica.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+class LoadTestOptions {
+    static final String DEFAULT_MIX = "weather-read:40,region-read:15,search:15,forecast-read:10,weather-write:15,login:5";
+
+    final String baseUrl;
+    final String email;
+    final String password;
+    final int rate;
+    final Duration warmup;
+    final Duration duration;
+    final int maxInFlight;
+    final Map<Endpoint, Integer> mix;
+    final String output;
+
+    private LoadTestOptions(Map<String, String> values) {
+        baseUrl = values.getOrDefault("baseUrl", "http://localhost:8080");
+        email = values.getOrDefault("email", "loadtest-" + System.currentTimeMillis() + "@example.org");
+        password = values.getOrDefault("password", "loadtest-password");
+        rate = Integer.parseInt(values.getOrDefault("rate", "200"));
+        warmup = Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup", "10")));
+        duration = Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration", "60")));
+        maxInFlight = Integer.parseInt(values.getOrDefault("maxInFlight", "1000"));
+        mix = parseMix(values.getOrDefault("mix", DEFAULT_MIX));
+        output = values.getOrDefault("output", "target/loadtest-result.json");
+        if (rate <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException("rate and maxInFlight must be positive");
+        }
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int separator = arg.indexOf('=');
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return new LoadTestOptions(values);
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                weights.put(Endpoint.fromName(parts[0]), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix must contain at least one endpoint with a positive weight");
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.climatica.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+record LoadTestReport(Instant finishedAt, String baseUrl, int targetRate, long durationSeconds,
+                      Map<String, Integer> mix, long dropped, Map<String, EndpointReport> endpoints) {
+
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    static LoadTestReport of(LoadTestOptions options, Map<Endpoint, EndpointStats> stats, long dropped) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        options.mix.forEach((endpoint, weight) -> mix.put(endpoint.getName(), weight));
+        Map<String, EndpointReport> endpoints = new LinkedHashMap<>();
+        long seconds = options.duration.toSeconds();
+        stats.forEach((endpoint, endpointStats) ->
+                endpoints.put(endpoint.getName(), EndpointReport.of(endpoint, endpointStats, seconds)));
+        return new LoadTestReport(Instant.now(), options.baseUrl, options.rate, seconds, mix, dropped, endpoints);
+    }
+
+    record EndpointReport(boolean write, long count, long errors, long dropped, double throughputPerSecond,
+                          double meanMs, double p50Ms, double p90Ms, double p99Ms, double p999Ms, double maxMs) {
+
+        static EndpointReport of(Endpoint endpoint, EndpointStats stats, long seconds) {
+            Histogram latency = stats.getLatency();
+            long count = latency.getTotalCount();
+            return new EndpointReport(
+                    endpoint.isWrite(),
+                    count,
+                    stats.getErrors(),
+                    stats.getDropped(),
+                    seconds > 0 ? (double) (count - stats.getErrors()) / seconds : 0,
+                    latency.getMean() / NANOS_PER_MILLI,
+                    millis(latency, 50),
+                    millis(latency, 90),
+                    millis(latency, 99),
+                    millis(latency, 99.9),
+                    latency.getMaxValue() / NANOS_PER_MILLI);
+        }
+
+        private static double millis(Histogram latency, double percentile) {
+            return latency.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+        }
+    }
+}
@@ -1,8 +1,8 @@
 package org.example.climatica.accounts;
 
 import io.micrometer.common.util.StringUtils;
-import jakarta.servlet.http.HttpServletRequest;
 import org.example.climatica.auth.dto.UserRegistrationDto;
+import org.example.climatica.secure.SessionPrincipal;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
@@ -15,9 +15,7 @@ import io.swagger.v3.oas.annotations.media.ArraySchema;
 import org.springframework.web.server.ResponseStatusException;
 
 import javax.validation.Valid;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/accounts")
@@ -44,7 +42,8 @@ public class AccountController {
         return ResponseEntity.ok(accountService.getUserById(accountId));
     }
 
-    @Operation(summary = "Search accounts", description = "Search for accounts by first name, last name, or email with pagination",
+    @Operation(summary = "Search accounts", description = "Search for accounts by first name, last name, or email with pagination. " +
+            "form is a zero-based page number of size rows; from, when given, is a row offset and takes precedence.",
             responses = {
                     @ApiResponse(description = "Search results returned successfully", responseCode = "200", content = @Content(array = @ArraySchema(schema = @Schema(implementation = AccountResponseDto.class)))),
                     @ApiResponse(description = "Bad Request - invalid form or size parameters", responseCode = "400"),
@@ -54,13 +53,14 @@ public class AccountController {
     public ResponseEntity<List<AccountResponseDto>> searchUsers(@RequestParam(required = false) String firstName,
                                                                 @RequestParam(required = false) String lastName,
                                                                 @RequestParam(required = false) String email,
+                                                                @RequestParam(required = false) Integer from,
                                                                 @RequestParam(defaultValue = "0") int form,
                                                                 @RequestParam(defaultValue = "10") int size) {
-
-        if (form < 0 || size <= 0) {
+        long offset = from != null ? from : (long) form * size;
+        if (form < 0 || offset < 0 || offset > Integer.MAX_VALUE || size <= 0) {
             return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(accountService.searchUsers(firstName, lastName, email, form, size));
+        return ResponseEntity.ok(accountService.searchUsers(firstName, lastName, email, (int) offset, size));
     }
 
 
@@ -72,9 +72,9 @@ public class AccountController {
             @ApiResponse(description = "Conflict - email already exists", responseCode = "409")
     })
     @PutMapping("/{accountId}")
-    public ResponseEntity<AccountResponseDto> updateUser(@PathVariable Integer accountId, @Valid @RequestBody UserRegistrationDto userDto, HttpServletRequest request) {
-        Optional<Integer> userId = getUserIdFromCookies(request);
-        if (userId.isEmpty() || !userId.get().equals(accountId)) {
+    public ResponseEntity<AccountResponseDto> updateUser(@PathVariable Integer accountId, @Valid @RequestBody UserRegistrationDto userDto,
+                                                         @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal) {
+        if (!isSameAccount(principal, accountId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
         }
 
@@ -95,9 +95,9 @@ public class AccountController {
             @ApiResponse(description = "Forbidden - not owner or user not found", responseCode = "403")
     })
     @DeleteMapping("/{accountId}")
-    public ResponseEntity<Void> deleteUser(@PathVariable Integer accountId, HttpServletRequest request) {
-        Optional<Integer> userId = getUserIdFromCookies(request);
-        if (userId.isEmpty() || !userId.get().equals(accountId)) {
+    public ResponseEntity<Void> deleteUser(@PathVariable Integer accountId,
+                                           @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal) {
+        if (!isSameAccount(principal, accountId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
         }
 
@@ -108,20 +108,7 @@ public class AccountController {
         return ResponseEntity.ok().build();
     }
 
-    private Optional<Integer> getUserIdFromCookies(HttpServletRequest request) {
-        if (request.getCookies() == null) {
-            return Optional.empty();
-        }
-
-        return Arrays.stream(request.getCookies())
-                .filter(c -> "userId".equals(c.getName()))
-                .findFirst()
-                .map(cookie -> {
-                    try {
-                        return Integer.parseInt(cookie.getValue());
-                    } catch (NumberFormatException e) {
-                        return null;
-                    }
-                });
+    private boolean isSameAccount(SessionPrincipal principal, Integer accountId) {
+        return accountId != null && principal.getAccountId() == accountId.longValue();
     }
 }
@@ -1,26 +1,14 @@
 package org.example.climatica.accounts;
 
 import org.example.climatica.model.Account;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
-public interface AccountRepository extends JpaRepository<Account, Integer> {
+public interface AccountRepository extends JpaRepository<Account, Integer>, JpaSpecificationExecutor<Account>,
+        AccountSearchRepository {
     Optional<Account> findByEmail(String email);
-
-    @Query("SELECT u FROM Account u WHERE " +
-            "(:firstName IS NULL OR u.firstName LIKE %:firstName%) AND " +
-            "(:lastName IS NULL OR u.lastName LIKE %:lastName%) AND " +
-            "(:email IS NULL OR u.email LIKE %:email%)")
-    Page<Account> findByFirstNameContainingAndLastNameContainingAndEmailContaining(
-            @Param("firstName") String firstName,
-            @Param("lastName") String lastName,
-            @Param("email") String email,
-            Pageable pageable);
 }
@@ -0,0 +1,12 @@
+package org.example.climatica.accounts;
+
+import org.example.climatica.model.Account;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface AccountSearchRepository {
+
+    List<Account> search(Specification<Account> specification, Sort sort, int offset, int limit);
+}
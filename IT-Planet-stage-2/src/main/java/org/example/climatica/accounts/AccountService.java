@@ -5,9 +5,8 @@ import org.example.climatica.model.Account;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -63,11 +62,10 @@ public class AccountService {
     }
 
     public List<AccountResponseDto> searchUsers(String firstName, String lastName, String email, int from, int size) {
-        Pageable pageable = PageRequest.of(from, size);
-        Page<Account> page = accountRepository.findByFirstNameContainingAndLastNameContainingAndEmailContaining(
-                firstName, lastName, email, pageable);
-
-        return page.getContent().stream()
+        Specification<Account> filters = Specification.where(AccountSpecifications.contains("firstName", firstName))
+                .and(AccountSpecifications.contains("lastName", lastName))
+                .and(AccountSpecifications.contains("email", email));
+        return accountRepository.search(filters, Sort.by("id"), from, size).stream()
                 .map(this::convertToDto)
                 .collect(Collectors.toList());
     }
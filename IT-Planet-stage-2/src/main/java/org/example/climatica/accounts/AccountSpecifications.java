@@ -0,0 +1,31 @@
+package org.example.climatica.accounts;
+
+import org.example.climatica.model.Account;
+import org.springframework.data.jpa.domain.Specification;
+
+final class AccountSpecifications {
+
+    private static final char ESCAPE = '\\';
+
+    private AccountSpecifications() {
+    }
+
+    static Specification<Account> contains(String attribute, String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        String pattern = "%" + escape(value) + "%";
+        return (root, query, cb) -> cb.like(root.get(attribute), pattern, ESCAPE);
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            if (c == '%' || c == '_' || c == ESCAPE) {
+                escaped.append(ESCAPE);
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
@@ -10,15 +10,19 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletResponse;
 import org.example.climatica.accounts.AccountResponseDto;
 import org.example.climatica.auth.dto.LoginDto;
+import org.example.climatica.auth.dto.PasswordHashingStats;
 import org.example.climatica.auth.dto.UserIdDto;
 import org.example.climatica.auth.dto.UserRegistrationDto;
 import org.example.climatica.accounts.AccountService;
+import org.example.climatica.exception.ServiceUnavailableException;
+import org.example.climatica.secure.SessionTokenService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RestController;
@@ -31,17 +35,23 @@ import javax.validation.Valid;
 public class AuthController {
     private final AuthService authService;
     private final AccountService accountService;
+    private final SessionTokenService sessionTokenService;
+    private final PasswordHasher passwordHasher;
 
-    public AuthController(AuthService authService, AccountService accountService) {
+    public AuthController(AuthService authService, AccountService accountService, SessionTokenService sessionTokenService,
+                          PasswordHasher passwordHasher) {
         this.authService = authService;
         this.accountService = accountService;
+        this.sessionTokenService = sessionTokenService;
+        this.passwordHasher = passwordHasher;
     }
 
     @Operation(summary = "Create a new user", responses = {
             @ApiResponse(description = "User created successfully", responseCode = "201", content = @Content(schema = @Schema(implementation = AccountResponseDto.class))),
             @ApiResponse(description = "Bad Request", responseCode = "400"),
             @ApiResponse(description = "Forbidden - authorized account", responseCode = "403"),
-            @ApiResponse(description = "Conflict - email already exists", responseCode = "409")
+            @ApiResponse(description = "Conflict - email already exists", responseCode = "409"),
+            @ApiResponse(description = "Password hashing queue is full", responseCode = "503")
     })
     @PostMapping("/registration")
     public ResponseEntity<AccountResponseDto> registerUser(@RequestBody UserRegistrationDto userDto) {
@@ -67,21 +77,37 @@ public class AuthController {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "An account with this email already exists");
         }
 
-        AccountResponseDto createdUser = authService.registerUser(userDto);
-        return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+        try {
+            AccountResponseDto createdUser = authService.registerUser(userDto);
+            return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+        } catch (ServiceUnavailableException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+        }
     }
 
     @PostMapping("/login")
     public ResponseEntity<UserIdDto> loginUser(@Valid @RequestBody LoginDto loginDto, HttpServletResponse response) {
         try {
             UserIdDto userIdDto = authService.loginUser(loginDto);
-            Cookie cookie = new Cookie("userId", userIdDto.getId().toString());
+            Cookie cookie = new Cookie(SessionTokenService.COOKIE_NAME, sessionTokenService.issue(userIdDto.getId()));
             cookie.setHttpOnly(true);
             cookie.setPath("/");
+            cookie.setMaxAge((int) sessionTokenService.getTtl().getSeconds());
             response.addCookie(cookie);
             return ResponseEntity.ok(userIdDto);
         } catch (UsernameNotFoundException | BadCredentialsException ex) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, ex.getMessage());
+        } catch (ServiceUnavailableException ex) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
         }
     }
+
+    @Operation(summary = "Get password hashing pool statistics", responses = {
+            @ApiResponse(description = "Statistics returned", responseCode = "200", content = @Content(schema = @Schema(implementation = PasswordHashingStats.class))),
+            @ApiResponse(description = "Unauthorized", responseCode = "401")
+    })
+    @GetMapping("/password-hashing/stats")
+    public ResponseEntity<PasswordHashingStats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordHasher.getStats());
+    }
 }
@@ -8,7 +8,6 @@ import org.example.climatica.model.Account;
 import org.example.climatica.accounts.AccountRepository;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.util.Optional;
@@ -17,11 +16,11 @@ import java.util.Optional;
 public class AuthService {
     private final AccountRepository accountRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
 
-    public AuthService(AccountRepository accountRepository, PasswordEncoder passwordEncoder) {
+    public AuthService(AccountRepository accountRepository, PasswordHasher passwordHasher) {
         this.accountRepository = accountRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHasher = passwordHasher;
     }
 
     public AccountResponseDto registerUser(UserRegistrationDto userDto) {
@@ -29,7 +28,7 @@ public class AuthService {
         account.setFirstName(userDto.getFirstName().trim());
         account.setLastName(userDto.getLastName().trim());
         account.setEmail(userDto.getEmail().trim().toLowerCase());
-        account.setPassword(passwordEncoder.encode(userDto.getPassword()));
+        account.setPassword(passwordHasher.encode(userDto.getPassword()));
 
         Account savedAccount = accountRepository.save(account);
         AccountResponseDto accountResponseDto = new AccountResponseDto();
@@ -49,8 +48,13 @@ public class AuthService {
             throw new UsernameNotFoundException("User not found");
         }
 
-        if (passwordEncoder.matches(loginDto.getPassword(), user.get().getPassword())) {
-            return new UserIdDto(user.get().getId());
+        Account account = user.get();
+        if (passwordHasher.matches(loginDto.getPassword(), account.getPassword())) {
+            if (passwordHasher.upgradeEncoding(account.getPassword())) {
+                account.setPassword(passwordHasher.encode(loginDto.getPassword()));
+                accountRepository.save(account);
+            }
+            return new UserIdDto(account.getId());
         } else {
             throw new BadCredentialsException("Invalid credentials");
         }
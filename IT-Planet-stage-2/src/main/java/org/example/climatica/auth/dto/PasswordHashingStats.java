@@ -0,0 +1,17 @@
+package org.example.climatica.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PasswordHashingStats {
+    private int queueDepth;
+    private int queueCapacity;
+    private int activeThreads;
+    private long completed;
+    private long rejected;
+    private double averageHashMillis;
+    private double maxHashMillis;
+    private double averageQueueWaitMillis;
+}
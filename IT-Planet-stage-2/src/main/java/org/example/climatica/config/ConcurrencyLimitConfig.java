@@ -0,0 +1,52 @@
+package org.example.climatica.config;
+
+import jakarta.servlet.Filter;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * With virtual threads Tomcat no longer caps concurrency, so every request could end up queueing on Hikari. This
+ * filter admits at most {@code max-in-flight} requests and answers the rest with 503 after {@code acquire-timeout}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public FilterRegistrationBean<Filter> concurrencyLimitFilter(
+            @Value("${server.concurrency-limit.max-in-flight:64}") int maxInFlight,
+            @Value("${server.concurrency-limit.acquire-timeout-ms:2000}") long acquireTimeoutMs) {
+        Semaphore permits = new Semaphore(maxInFlight, true);
+        Filter filter = (request, response, chain) -> {
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            }
+            if (!acquired) {
+                ((HttpServletResponse) response).sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "Server is busy, please retry");
+                return;
+            }
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                permits.release();
+            }
+        };
+
+        FilterRegistrationBean<Filter> registrationBean = new FilterRegistrationBean<>(filter);
+        registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registrationBean;
+    }
+}
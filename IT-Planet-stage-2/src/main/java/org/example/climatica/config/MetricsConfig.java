@@ -0,0 +1,43 @@
+package org.example.climatica.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.example.climatica.auth.PasswordHasher;
+import org.example.climatica.weather.LatestWeatherCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder latestWeatherCacheMetrics(LatestWeatherCache cache) {
+        return registry -> {
+            FunctionCounter.builder("weather.latest.cache.requests", cache, c -> c.getStats().getHits())
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("weather.latest.cache.requests", cache, c -> c.getStats().getMisses())
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("weather.latest.cache.evictions", cache, c -> c.getStats().getEvictions())
+                    .register(registry);
+            Gauge.builder("weather.latest.cache.size", cache, c -> c.getStats().getSize())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHasher passwordHasher) {
+        return registry -> {
+            Gauge.builder("security.password.hashing.queue.depth", passwordHasher, h -> h.getStats().getQueueDepth())
+                    .register(registry);
+            Gauge.builder("security.password.hashing.active", passwordHasher, h -> h.getStats().getActiveThreads())
+                    .register(registry);
+            FunctionCounter.builder("security.password.hashing.completed", passwordHasher, h -> h.getStats().getCompleted())
+                    .register(registry);
+            FunctionCounter.builder("security.password.hashing.rejected", passwordHasher, h -> h.getStats().getRejected())
+                    .register(registry);
+        };
+    }
+}
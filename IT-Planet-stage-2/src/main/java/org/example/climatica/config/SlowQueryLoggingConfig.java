@@ -0,0 +1,45 @@
+package org.example.climatica.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.slow-query.enabled", havingValue = "true", matchIfMissing = true)
+public class SlowQueryLoggingConfig {
+
+    @Bean
+    public static BeanPostProcessor slowQueryLoggingPostProcessor(
+            @Value("${datasource.slow-query.threshold:PT0.2S}") Duration threshold,
+            @Value("${datasource.slow-query.sample-rate:1.0}") double sampleRate,
+            ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            private volatile Counter slowQueries;
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SlowQueryLoggingDataSource)) {
+                    return new SlowQueryLoggingDataSource(dataSource, threshold, sampleRate, this::slowQueries);
+                }
+                return bean;
+            }
+
+            private Counter slowQueries() {
+                if (slowQueries == null) {
+                    slowQueries = Counter.builder("db.slow.queries")
+                            .description("Statements slower than datasource.slow-query.threshold")
+                            .register(meterRegistry.getObject());
+                }
+                return slowQueries;
+            }
+        };
+    }
+}
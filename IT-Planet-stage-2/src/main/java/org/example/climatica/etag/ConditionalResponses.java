@@ -0,0 +1,31 @@
+package org.example.climatica.etag;
+
+import org.example.climatica.model.Versioned;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+public final class ConditionalResponses {
+
+    private ConditionalResponses() {
+    }
+
+    public static boolean notModified(WebRequest request, EntityVersionCache.VersionStamp stamp, Long id) {
+        return stamp != null && request.checkNotModified(stamp.etag(id), stamp.lastModifiedMillis());
+    }
+
+    public static <T extends Versioned> ResponseEntity<T> ok(T entity) {
+        return ok(entity, entity);
+    }
+
+    public static <T> ResponseEntity<T> ok(Versioned source, T body) {
+        return ok(source.getId(), new EntityVersionCache.VersionStamp(source.getVersion(), source.getLastModified()), body);
+    }
+
+    public static <T> ResponseEntity<T> ok(Long id, EntityVersionCache.VersionStamp stamp, T body) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(stamp.etag(id));
+        if (stamp.lastModified() != null) {
+            builder.lastModified(stamp.lastModified());
+        }
+        return builder.body(body);
+    }
+}
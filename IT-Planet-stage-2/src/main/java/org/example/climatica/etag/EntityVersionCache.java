@@ -0,0 +1,64 @@
+package org.example.climatica.etag;
+
+import org.example.climatica.model.Versioned;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Last known version of versioned entities, kept current by {@link EntityVersionListener}. Lets conditional GETs be
+ * answered with 304 before the entity is loaded. When full, new entries are simply not cached; a miss only means
+ * the entity is loaded and compared as usual. Writes must only reach the cache once committed; bulk SQL that bypasses
+ * the persistence context must call {@link #evictAll(Class)} after its transaction commits.
+ */
+@Component
+public class EntityVersionCache {
+
+    private final int maxSize;
+    private final ConcurrentHashMap<Key, VersionStamp> versions = new ConcurrentHashMap<>();
+
+    public EntityVersionCache(@Value("${etag.version-cache.max-size:100000}") int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public VersionStamp get(Class<? extends Versioned> type, Long id) {
+        return versions.get(new Key(type, id));
+    }
+
+    public void put(Versioned entity) {
+        if (entity.getId() != null) {
+            put(entity.getClass(), entity.getId(), new VersionStamp(entity.getVersion(), entity.getLastModified()));
+        }
+    }
+
+    public void put(Class<? extends Versioned> type, Long id, VersionStamp stamp) {
+        Key key = new Key(type, id);
+        if (versions.size() < maxSize || versions.containsKey(key)) {
+            versions.merge(key, stamp, (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        }
+    }
+
+    public void evict(Class<? extends Versioned> type, Long id) {
+        versions.remove(new Key(type, id));
+    }
+
+    public void evictAll(Class<? extends Versioned> type) {
+        versions.keySet().removeIf(key -> key.type() == type);
+    }
+
+    public record VersionStamp(long version, Instant lastModified) {
+
+        public String etag(Long id) {
+            return "\"" + id + "-" + version + "\"";
+        }
+
+        public long lastModifiedMillis() {
+            return lastModified != null ? lastModified.toEpochMilli() : -1;
+        }
+    }
+
+    private record Key(Class<?> type, Long id) {
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.climatica.etag;
+
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.example.climatica.model.Versioned;
+import org.example.climatica.transaction.AfterCommit;
+import org.springframework.stereotype.Component;
+
+/**
+ * Loads record the version that was read; flushed writes are only recorded once their transaction commits, so a
+ * rolled back update never leaves a version in the cache that the database does not have.
+ */
+@Component
+public class EntityVersionListener {
+
+    private final EntityVersionCache entityVersionCache;
+
+    public EntityVersionListener(EntityVersionCache entityVersionCache) {
+        this.entityVersionCache = entityVersionCache;
+    }
+
+    @PostLoad
+    public void loaded(Object entity) {
+        entityVersionCache.put((Versioned) entity);
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void written(Object entity) {
+        Versioned versioned = (Versioned) entity;
+        Class<? extends Versioned> type = versioned.getClass();
+        Long id = versioned.getId();
+        EntityVersionCache.VersionStamp stamp = new EntityVersionCache.VersionStamp(versioned.getVersion(), versioned.getLastModified());
+        AfterCommit.run(() -> entityVersionCache.put(type, id, stamp));
+    }
+
+    @PostRemove
+    public void removed(Object entity) {
+        Versioned versioned = (Versioned) entity;
+        Class<? extends Versioned> type = versioned.getClass();
+        Long id = versioned.getId();
+        AfterCommit.run(() -> entityVersionCache.evict(type, id));
+    }
+}
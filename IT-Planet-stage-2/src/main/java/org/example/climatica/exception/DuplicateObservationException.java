@@ -0,0 +1,7 @@
+package org.example.climatica.exception;
+
+public class DuplicateObservationException extends RuntimeException {
+    public DuplicateObservationException(String message) {
+        super(message);
+    }
+}
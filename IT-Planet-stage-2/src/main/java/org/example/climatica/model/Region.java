@@ -3,11 +3,17 @@ package org.example.climatica.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.example.climatica.etag.EntityVersionListener;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
+@EntityListeners(EntityVersionListener.class)
+@Table(indexes = @Index(name = "idx_region_parent", columnList = "parent_region_id"))
 @Getter
 @Setter
-public class Region {
+public class Region implements Versioned {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -15,6 +21,15 @@ public class Region {
     private Long accountId;
     private String name;
     private String parentRegion;
+    @Column(name = "parent_region_id")
+    private Long parentRegionId;
     private Double latitude;
     private Double longitude;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
 }
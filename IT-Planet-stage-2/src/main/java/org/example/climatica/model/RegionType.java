@@ -3,14 +3,26 @@ package org.example.climatica.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.example.climatica.etag.EntityVersionListener;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
+@EntityListeners(EntityVersionListener.class)
 @Getter
 @Setter
-public class RegionType {
+public class RegionType implements Versioned {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String type;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
 }
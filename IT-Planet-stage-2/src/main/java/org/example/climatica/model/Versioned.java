@@ -0,0 +1,11 @@
+package org.example.climatica.model;
+
+import java.time.Instant;
+
+public interface Versioned {
+    Long getId();
+
+    long getVersion();
+
+    Instant getLastModified();
+}
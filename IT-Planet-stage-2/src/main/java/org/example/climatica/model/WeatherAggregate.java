@@ -0,0 +1,43 @@
+package org.example.climatica.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(columnNames = {"region_id", "period", "bucket_start"}))
+@Getter
+@Setter
+public class WeatherAggregate {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "region_id", nullable = false)
+    private Long regionId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private AggregatePeriod period;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    private long observationCount;
+
+    private double temperatureSum;
+    private float temperatureMin;
+    private float temperatureMax;
+
+    private double humiditySum;
+    private float humidityMin;
+    private float humidityMax;
+
+    private double windSpeedSum;
+    private float windSpeedMin;
+    private float windSpeedMax;
+
+    private double precipitationTotal;
+}
@@ -3,16 +3,27 @@ package org.example.climatica.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.example.climatica.etag.EntityVersionListener;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(EntityVersionListener.class)
+@Table(indexes = {
+        @Index(name = "idx_weather_data_region_time", columnList = "region_id, measurement_date_time, id"),
+        @Index(name = "idx_weather_data_time", columnList = "measurement_date_time, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uq_weather_data_region_time", columnNames = {"region_id", "measurement_date_time"})
+})
 @Getter
 @Setter
-public class WeatherData {
+public class WeatherData implements Versioned {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "weather_data_seq")
+    @SequenceGenerator(name = "weather_data_seq", sequenceName = "weather_data_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne
@@ -31,5 +42,11 @@ public class WeatherData {
 
     @ElementCollection
     private List<Long> weatherForecast;
-}
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
+}
@@ -3,13 +3,18 @@ package org.example.climatica.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.example.climatica.etag.EntityVersionListener;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Entity
+@EntityListeners(EntityVersionListener.class)
+@Table(indexes = @Index(name = "idx_weather_forecast_region_time", columnList = "region_id, date_time, id"))
 @Getter
 @Setter
-public class WeatherForecast {
+public class WeatherForecast implements Versioned {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,4 +25,13 @@ public class WeatherForecast {
     private WeatherCondition weatherCondition;
 
     private Long regionId;
+
+    private Boolean generated;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private long version;
+
+    @UpdateTimestamp
+    private Instant lastModified;
 }
@@ -1,17 +1,25 @@
 package org.example.climatica.region;
 
+import org.example.climatica.etag.ConditionalResponses;
+import org.example.climatica.etag.EntityVersionCache;
+import org.example.climatica.exception.DuplicateObservationException;
 import org.example.climatica.exception.NotFoundException;
 import org.example.climatica.exception.UnauthorizedException;
+import org.example.climatica.model.AggregatePeriod;
 import org.example.climatica.model.Region;
 import org.example.climatica.model.WeatherData;
 import org.example.climatica.region.dro.RegionDTO;
+import org.example.climatica.region.dro.RegionDistanceDto;
 import org.example.climatica.region.dro.RegionResponseDto;
 import org.example.climatica.region.dro.RegionUpdateDTO;
+import org.example.climatica.secure.SessionPrincipal;
 import org.example.climatica.weather.WeatherService;
 import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.example.climatica.weather_aggregate.WeatherAggregateService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -19,7 +27,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.List;
 
 @RestController
 @RequestMapping("/region")
@@ -27,29 +37,91 @@ import java.util.ArrayList;
 public class RegionController {
     private final RegionService regionService;
     private final WeatherService weatherService;
+    private final WeatherAggregateService weatherAggregateService;
+    private final EntityVersionCache entityVersionCache;
 
-    public RegionController(RegionService regionService, WeatherService weatherService) {
+    public RegionController(RegionService regionService, WeatherService weatherService,
+                            WeatherAggregateService weatherAggregateService, EntityVersionCache entityVersionCache) {
         this.regionService = regionService;
         this.weatherService = weatherService;
+        this.weatherAggregateService = weatherAggregateService;
+        this.entityVersionCache = entityVersionCache;
     }
 
     @Operation(summary = "Get a region by ID", responses = {
             @ApiResponse(description = "Region found", responseCode = "200", content = @Content(schema = @Schema(implementation = Region.class))),
+            @ApiResponse(description = "Region not modified since the ETag in If-None-Match", responseCode = "304"),
             @ApiResponse(description = "Region not found", responseCode = "404"),
             @ApiResponse(description = "Invalid region ID", responseCode = "400")
     })
     @GetMapping("/{regionId}")
-    public ResponseEntity<?> getRegion(@PathVariable Long regionId) {
+    public ResponseEntity<?> getRegion(@PathVariable Long regionId, WebRequest request) {
         if (regionId == null || regionId <= 0) {
             return ResponseEntity.badRequest().body("Invalid region ID");
         }
+        if (ConditionalResponses.notModified(request, entityVersionCache.get(Region.class, regionId), regionId)) {
+            return null;
+        }
         return regionService.findRegionById(regionId)
-                .map(ResponseEntity::ok)
+                .map(ConditionalResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    @Operation(summary = "Find the regions nearest to a point", responses = {
+            @ApiResponse(description = "Regions ordered by distance", responseCode = "200"),
+            @ApiResponse(description = "Invalid coordinates or limit", responseCode = "400")
+    })
+    @GetMapping("/nearest")
+    public ResponseEntity<?> findNearestRegions(@RequestParam double latitude,
+                                                @RequestParam double longitude,
+                                                @RequestParam(defaultValue = "10") int limit) {
+        if (isInvalidCoordinate(latitude, longitude) || limit <= 0) {
+            return ResponseEntity.badRequest().body("Invalid coordinates or limit");
+        }
+        List<RegionDistanceDto> regions = regionService.findNearest(latitude, longitude, limit);
+        return ResponseEntity.ok(regions);
+    }
+
+    @Operation(summary = "Find regions within a radius of a point", responses = {
+            @ApiResponse(description = "Regions ordered by distance", responseCode = "200"),
+            @ApiResponse(description = "Invalid coordinates or radius", responseCode = "400")
+    })
+    @GetMapping("/radius")
+    public ResponseEntity<?> findRegionsWithinRadius(@RequestParam double latitude,
+                                                     @RequestParam double longitude,
+                                                     @RequestParam double radiusKm) {
+        if (isInvalidCoordinate(latitude, longitude) || radiusKm <= 0) {
+            return ResponseEntity.badRequest().body("Invalid coordinates or radius");
+        }
+        List<RegionDistanceDto> regions = regionService.findWithinRadius(latitude, longitude, radiusKm);
+        return ResponseEntity.ok(regions);
+    }
+
+    @Operation(summary = "Find regions inside a bounding box",
+            description = "minLongitude greater than maxLongitude selects a box crossing the antimeridian",
+            responses = {
+                    @ApiResponse(description = "Regions inside the box", responseCode = "200"),
+                    @ApiResponse(description = "Invalid bounding box", responseCode = "400")
+            })
+    @GetMapping("/bbox")
+    public ResponseEntity<?> findRegionsWithinBoundingBox(@RequestParam double minLatitude,
+                                                          @RequestParam double minLongitude,
+                                                          @RequestParam double maxLatitude,
+                                                          @RequestParam double maxLongitude) {
+        if (isInvalidCoordinate(minLatitude, minLongitude) || isInvalidCoordinate(maxLatitude, maxLongitude) || minLatitude > maxLatitude) {
+            return ResponseEntity.badRequest().body("Invalid bounding box");
+        }
+        List<RegionResponseDto> regions = regionService.findWithinBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
+        return ResponseEntity.ok(regions);
+    }
+
+    private boolean isInvalidCoordinate(double latitude, double longitude) {
+        return latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180;
+    }
+
     @PostMapping
-    public ResponseEntity<?> addRegion(@RequestBody RegionDTO regionDto, @CookieValue(value = "accountId", defaultValue = "1") Long accountId) {
+    public ResponseEntity<?> addRegion(@RequestBody RegionDTO regionDto,
+                                       @RequestAttribute(SessionPrincipal.REQUEST_ATTRIBUTE) SessionPrincipal principal) {
         if (regionDto.getLatitude() == null || regionDto.getLongitude() == null || regionDto.getName() == null) {
             return ResponseEntity.badRequest().build();
         }
@@ -58,13 +130,18 @@ public class RegionController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Region with the same latitude and longitude already exists");
         }
 
+        if (!regionService.isValidParent(null, regionDto.getParentRegionId())) {
+            return ResponseEntity.badRequest().body("Parent region not found");
+        }
+
         Region region = new Region();
         region.setName(regionDto.getName());
         region.setParentRegion(regionDto.getParentRegion());
+        region.setParentRegionId(regionDto.getParentRegionId());
         region.setLatitude(regionDto.getLatitude());
         region.setLongitude(regionDto.getLongitude());
         region.setRegionType(regionDto.getRegionType());
-        region.setAccountId(accountId);
+        region.setAccountId(principal.getAccountId());
         region = regionService.saveRegion(region);
 
         RegionResponseDto responseDto = new RegionResponseDto(region);
@@ -82,15 +159,85 @@ public class RegionController {
             return ResponseEntity.badRequest().body("Invalid data");
         }
 
+        if (!regionService.isValidParent(regionId, regionUpdateDTO.getParentRegionId())) {
+            return ResponseEntity.badRequest().body("Parent region not found or would create a cycle");
+        }
+
         Region region = new Region();
         region.setName(regionUpdateDTO.getName());
         region.setParentRegion(regionUpdateDTO.getParentRegion());
+        region.setParentRegionId(regionUpdateDTO.getParentRegionId());
         region.setLatitude(regionUpdateDTO.getLatitude());
         region.setLongitude(regionUpdateDTO.getLongitude());
 
-        return regionService.updateRegion(regionId, region)
-                .map(updatedRegion -> ResponseEntity.ok(updatedRegion))
-                .orElse(ResponseEntity.notFound().build());
+        try {
+            return regionService.updateRegion(regionId, region)
+                    .map(updatedRegion -> ResponseEntity.ok(updatedRegion))
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Parent region not found or would create a cycle");
+        }
+    }
+
+    @Operation(summary = "Get a region and all of its descendants", responses = {
+            @ApiResponse(description = "Subtree found", responseCode = "200"),
+            @ApiResponse(description = "Region not found", responseCode = "404"),
+            @ApiResponse(description = "Invalid region ID", responseCode = "400")
+    })
+    @GetMapping("/{regionId}/subtree")
+    public ResponseEntity<?> getSubtree(@PathVariable Long regionId) {
+        if (regionId == null || regionId <= 0) {
+            return ResponseEntity.badRequest().body("Invalid region ID");
+        }
+        if (regionService.findRegionById(regionId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(regionService.getSubtree(regionId));
+    }
+
+    @Operation(summary = "Get the latest weather of a region and all of its descendants", responses = {
+            @ApiResponse(description = "Latest observations found", responseCode = "200"),
+            @ApiResponse(description = "Region not found", responseCode = "404"),
+            @ApiResponse(description = "Invalid region ID", responseCode = "400")
+    })
+    @GetMapping("/{regionId}/subtree/weather")
+    public ResponseEntity<?> getSubtreeWeather(@PathVariable Long regionId) {
+        if (regionId == null || regionId <= 0) {
+            return ResponseEntity.badRequest().body("Invalid region ID");
+        }
+        if (regionService.findRegionById(regionId).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(weatherService.getLatestWeatherForRegions(regionService.getSubtreeIds(regionId)));
+    }
+
+    @Operation(summary = "Get weather aggregates combined over a region and all of its descendants", responses = {
+            @ApiResponse(description = "Aggregates found", responseCode = "200"),
+            @ApiResponse(description = "Region not found", responseCode = "404"),
+            @ApiResponse(description = "Invalid input parameters", responseCode = "400")
+    })
+    @GetMapping("/{regionId}/subtree/aggregate")
+    public ResponseEntity<?> getSubtreeAggregates(@PathVariable Long regionId,
+                                                  @RequestParam(defaultValue = "DAY") String period,
+                                                  @RequestParam String startDateTime,
+                                                  @RequestParam String endDateTime) {
+        if (regionId == null || regionId <= 0) {
+            return ResponseEntity.badRequest().body("Invalid region ID");
+        }
+        try {
+            AggregatePeriod aggregatePeriod = AggregatePeriod.valueOf(period);
+            LocalDateTime start = LocalDateTime.parse(startDateTime);
+            LocalDateTime end = LocalDateTime.parse(endDateTime);
+            if (regionService.findRegionById(regionId).isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(weatherAggregateService.getCombinedAggregates(
+                    regionId, regionService.getSubtreeIds(regionId), aggregatePeriod, start, end));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid date format. Please use ISO-8601 format.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid period. Use HOUR or DAY.");
+        }
     }
 
     @Operation(summary = "Delete a region", responses = {
@@ -113,7 +260,8 @@ public class RegionController {
                     @ApiResponse(responseCode = "200", description = "Weather data added successfully"),
                     @ApiResponse(responseCode = "400", description = "Bad request due to invalid input"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized access"),
-                    @ApiResponse(responseCode = "404", description = "Region or weather not found")
+                    @ApiResponse(responseCode = "404", description = "Region or weather not found"),
+                    @ApiResponse(responseCode = "409", description = "The region already has an observation at this measurementDateTime")
             })
     @PostMapping("/{regionId}/weather/{weatherId}")
     public ResponseEntity<?> addWeatherToRegion(@PathVariable long regionId, @PathVariable long weatherId) {
@@ -129,6 +277,8 @@ public class RegionController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        } catch (DuplicateObservationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -179,6 +329,7 @@ public class RegionController {
         response.setId(region.getId());
         response.setName(region.getName());
         response.setParentRegion(region.getParentRegion());
+        response.setParentRegionId(region.getParentRegionId());
         response.setLatitude(region.getLatitude());
         response.setLongitude(region.getLongitude());
         return response;
@@ -0,0 +1,115 @@
+package org.example.climatica.region;
+
+import jakarta.annotation.PostConstruct;
+import org.example.climatica.model.Region;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * In-memory parent/children index over {@code Region.parentRegionId}. Reads are lock-free; writes are serialized
+ * so a move never leaves a region listed under two parents, and traversals tolerate a cycle rather than loop on it.
+ */
+@Component
+public class RegionHierarchy {
+
+    private final RegionRepository regionRepository;
+    private final Map<Long, Long> parentById = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> childrenById = new ConcurrentHashMap<>();
+
+    public RegionHierarchy(RegionRepository regionRepository) {
+        this.regionRepository = regionRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        for (Object[] link : regionRepository.findAllParentLinks()) {
+            link((Long) link[0], (Long) link[1]);
+        }
+    }
+
+    public synchronized void link(Long regionId, Long parentRegionId) {
+        Long previousParent = parentById.remove(regionId);
+        if (previousParent != null) {
+            Set<Long> siblings = childrenById.get(previousParent);
+            if (siblings != null) {
+                siblings.remove(regionId);
+            }
+        }
+        if (parentRegionId != null) {
+            parentById.put(regionId, parentRegionId);
+            childrenById.computeIfAbsent(parentRegionId, k -> ConcurrentHashMap.newKeySet()).add(regionId);
+        }
+    }
+
+    /**
+     * Saves a region whose parent may change and links it under the saved parent, serialized with every other
+     * hierarchy change so that two concurrent moves cannot each pass the cycle check and together close a loop.
+     *
+     * @throws IllegalArgumentException if the new parent lies in the region's own subtree
+     */
+    public synchronized Region move(Long regionId, Long parentRegionId, Supplier<Region> save) {
+        if (parentRegionId != null && isInSubtree(regionId, parentRegionId)) {
+            throw new IllegalArgumentException("Region " + parentRegionId + " is a descendant of region " + regionId);
+        }
+        Region savedRegion = save.get();
+        link(regionId, savedRegion.getParentRegionId());
+        return savedRegion;
+    }
+
+    public synchronized void remove(Long regionId) {
+        Long parentRegionId = parentById.get(regionId);
+        for (Long childId : List.copyOf(getChildren(regionId))) {
+            link(childId, parentRegionId);
+        }
+        link(regionId, null);
+        childrenById.remove(regionId);
+    }
+
+    public Long getParent(Long regionId) {
+        return parentById.get(regionId);
+    }
+
+    public Set<Long> getChildren(Long regionId) {
+        return childrenById.getOrDefault(regionId, Collections.emptySet());
+    }
+
+    public List<Long> getAncestors(Long regionId) {
+        List<Long> ancestors = new ArrayList<>();
+        Long current = parentById.get(regionId);
+        while (current != null && !ancestors.contains(current)) {
+            ancestors.add(current);
+            current = parentById.get(current);
+        }
+        return ancestors;
+    }
+
+    public boolean isInSubtree(Long rootId, Long regionId) {
+        return Objects.equals(rootId, regionId) || getAncestors(regionId).contains(rootId);
+    }
+
+    public List<Long> getSubtree(Long rootId) {
+        List<Long> subtree = new ArrayList<>();
+        Set<Long> visited = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        pending.push(rootId);
+        while (!pending.isEmpty()) {
+            Long regionId = pending.pop();
+            if (visited.add(regionId)) {
+                subtree.add(regionId);
+                getChildren(regionId).forEach(pending::push);
+            }
+        }
+        return subtree;
+    }
+}
@@ -2,9 +2,25 @@ package org.example.climatica.region;
 
 import org.example.climatica.model.Region;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
 public interface RegionRepository extends JpaRepository<Region, Long> {
     Optional<Region> findByLatitudeAndLongitude(Double latitude, Double longitude);
-}
\ No newline at end of file
+
+    @Query("SELECT r.id FROM Region r ORDER BY r.id")
+    List<Long> findAllIdsOrdered();
+
+    @Query("SELECT r.id, r.parentRegionId FROM Region r")
+    List<Object[]> findAllParentLinks();
+
+    @Modifying
+    @Query("UPDATE Region r SET r.parentRegionId = :newParentId, r.version = r.version + 1, r.lastModified = :now " +
+            "WHERE r.parentRegionId = :parentId")
+    int reparentChildren(@Param("parentId") Long parentId, @Param("newParentId") Long newParentId, @Param("now") Instant now);
+}
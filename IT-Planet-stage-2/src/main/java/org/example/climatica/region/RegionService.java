@@ -1,17 +1,40 @@
 package org.example.climatica.region;
 
+import org.example.climatica.etag.EntityVersionCache;
 import org.example.climatica.model.Region;
+import org.example.climatica.region.dro.RegionDistanceDto;
+import org.example.climatica.region.dro.RegionResponseDto;
+import org.example.climatica.transaction.AfterCommit;
+import org.example.climatica.weather.LatestWeatherCache;
+import org.example.climatica.weather.WeatherSeriesStore;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 @Service
 public class RegionService {
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final RegionRepository regionRepository;
+    private final LatestWeatherCache latestWeatherCache;
+    private final RegionSpatialIndex regionSpatialIndex;
+    private final RegionHierarchy regionHierarchy;
+    private final WeatherSeriesStore weatherSeriesStore;
+    private final EntityVersionCache entityVersionCache;
 
-    public RegionService(RegionRepository regionRepository) {
+    public RegionService(RegionRepository regionRepository, LatestWeatherCache latestWeatherCache,
+                         RegionSpatialIndex regionSpatialIndex, RegionHierarchy regionHierarchy,
+                         WeatherSeriesStore weatherSeriesStore, EntityVersionCache entityVersionCache) {
         this.regionRepository = regionRepository;
+        this.latestWeatherCache = latestWeatherCache;
+        this.regionSpatialIndex = regionSpatialIndex;
+        this.regionHierarchy = regionHierarchy;
+        this.weatherSeriesStore = weatherSeriesStore;
+        this.entityVersionCache = entityVersionCache;
     }
 
     public Optional<Region> findRegionById(Long id) {
@@ -19,11 +42,50 @@ public class RegionService {
     }
 
     public Region saveRegion(Region region) {
-        return regionRepository.save(region);
+        Region savedRegion = regionRepository.save(region);
+        regionSpatialIndex.put(savedRegion);
+        regionHierarchy.link(savedRegion.getId(), savedRegion.getParentRegionId());
+        return savedRegion;
+    }
+
+    public boolean isValidParent(Long regionId, Long parentRegionId) {
+        if (parentRegionId == null) {
+            return true;
+        }
+        if (!regionRepository.existsById(parentRegionId)) {
+            return false;
+        }
+        return regionId == null || !regionHierarchy.isInSubtree(regionId, parentRegionId);
+    }
+
+    public List<Long> getSubtreeIds(Long rootId) {
+        return regionHierarchy.getSubtree(rootId);
+    }
+
+    public List<RegionResponseDto> getSubtree(Long rootId) {
+        List<Long> regionIds = regionHierarchy.getSubtree(rootId);
+        List<RegionResponseDto> subtree = new ArrayList<>(regionIds.size());
+        for (int from = 0; from < regionIds.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = regionIds.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, regionIds.size()));
+            regionRepository.findAllById(chunk).forEach(region -> subtree.add(new RegionResponseDto(region)));
+        }
+        return subtree;
     }
 
     public boolean existsByLatitudeAndLongitude(Double latitude, Double longitude) {
-        return regionRepository.findByLatitudeAndLongitude(latitude, longitude).isPresent();
+        return regionSpatialIndex.contains(latitude, longitude);
+    }
+
+    public List<RegionDistanceDto> findNearest(double latitude, double longitude, int limit) {
+        return regionSpatialIndex.nearest(latitude, longitude, limit);
+    }
+
+    public List<RegionDistanceDto> findWithinRadius(double latitude, double longitude, double radiusKm) {
+        return regionSpatialIndex.withinRadius(latitude, longitude, radiusKm);
+    }
+
+    public List<RegionResponseDto> findWithinBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        return regionSpatialIndex.withinBoundingBox(minLatitude, minLongitude, maxLatitude, maxLongitude);
     }
 
     public Optional<Region> updateRegion(Long id, Region newRegion) {
@@ -33,14 +95,29 @@ public class RegionService {
             region.setLatitude(newRegion.getLatitude());
             region.setLongitude(newRegion.getLongitude());
             region.setRegionType(newRegion.getRegionType());
-            return regionRepository.save(region);
+            if (newRegion.getParentRegionId() != null) {
+                region.setParentRegionId(newRegion.getParentRegionId());
+            }
+            Region savedRegion = regionHierarchy.move(id, newRegion.getParentRegionId(), () -> regionRepository.save(region));
+            regionSpatialIndex.put(savedRegion);
+            latestWeatherCache.evict(id);
+            return savedRegion;
         });
     }
 
     @Transactional
     public boolean deleteRegion(Long id) {
         return regionRepository.findById(id).map(region -> {
+            if (regionRepository.reparentChildren(id, region.getParentRegionId(), Instant.now()) > 0) {
+                AfterCommit.run(() -> entityVersionCache.evictAll(Region.class));
+            }
             regionRepository.delete(region);
+            AfterCommit.run(() -> {
+                regionSpatialIndex.remove(id);
+                regionHierarchy.remove(id);
+                latestWeatherCache.evict(id);
+                weatherSeriesStore.invalidate(id);
+            });
             return true;
         }).orElse(false);
     }
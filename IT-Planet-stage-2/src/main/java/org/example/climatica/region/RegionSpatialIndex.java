@@ -0,0 +1,239 @@
+package org.example.climatica.region;
+
+import jakarta.annotation.PostConstruct;
+import org.example.climatica.model.Region;
+import org.example.climatica.region.dro.RegionDistanceDto;
+import org.example.climatica.region.dro.RegionResponseDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * In-memory uniform grid over region coordinates. Cells are {@code cellDegrees} wide in both latitude and longitude
+ * and wrap around the antimeridian, so nearest, radius and bounding-box lookups only visit the cells they overlap.
+ */
+@Component
+public class RegionSpatialIndex {
+
+    private static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+
+    private final RegionRepository regionRepository;
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+    private final Map<Long, Map<Long, Entry>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Entry> entriesById = new ConcurrentHashMap<>();
+
+    public RegionSpatialIndex(RegionRepository regionRepository,
+                              @Value("${region.spatial-index.cell-degrees:0.25}") double cellDegrees) {
+        this.regionRepository = regionRepository;
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+    }
+
+    @PostConstruct
+    public void load() {
+        regionRepository.findAll().forEach(this::put);
+    }
+
+    public void put(Region region) {
+        remove(region.getId());
+        if (region.getLatitude() == null || region.getLongitude() == null) {
+            return;
+        }
+        Entry entry = new Entry(new RegionResponseDto(region), region.getLatitude(), region.getLongitude());
+        entriesById.put(region.getId(), entry);
+        cells.computeIfAbsent(cellKey(column(entry.longitude), row(entry.latitude)), k -> new ConcurrentHashMap<>())
+                .put(region.getId(), entry);
+    }
+
+    public void remove(Long regionId) {
+        Entry previous = entriesById.remove(regionId);
+        if (previous != null) {
+            Map<Long, Entry> cell = cells.get(cellKey(column(previous.longitude), row(previous.latitude)));
+            if (cell != null) {
+                cell.remove(regionId);
+            }
+        }
+    }
+
+    public boolean contains(double latitude, double longitude) {
+        Map<Long, Entry> cell = cells.get(cellKey(column(longitude), row(latitude)));
+        return cell != null && cell.values().stream()
+                .anyMatch(entry -> entry.latitude == latitude && entry.longitude == longitude);
+    }
+
+    public List<RegionResponseDto> withinBoundingBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+        List<RegionResponseDto> result = new ArrayList<>();
+        double eastLongitude = maxLongitude >= minLongitude ? maxLongitude : maxLongitude + 360;
+        forEachCell(minLatitude, maxLatitude, minLongitude, eastLongitude, entry -> {
+            if (entry.latitude >= minLatitude && entry.latitude <= maxLatitude
+                    && isWithinLongitudes(entry.longitude, minLongitude, maxLongitude)) {
+                result.add(entry.region);
+            }
+        });
+        return result;
+    }
+
+    public List<RegionDistanceDto> withinRadius(double latitude, double longitude, double radiusKm) {
+        List<RegionDistanceDto> result = new ArrayList<>();
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        double longitudeDelta = longitudeDelta(latitude, latitudeDelta);
+        forEachCell(latitude - latitudeDelta, latitude + latitudeDelta, longitude - longitudeDelta, longitude + longitudeDelta, entry -> {
+            double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (distance <= radiusKm) {
+                result.add(new RegionDistanceDto(entry.region, distance));
+            }
+        });
+        result.sort(Comparator.comparingDouble(RegionDistanceDto::getDistanceKm));
+        return result;
+    }
+
+    public List<RegionDistanceDto> nearest(double latitude, double longitude, int limit) {
+        PriorityQueue<RegionDistanceDto> best = new PriorityQueue<>(
+                Comparator.comparingDouble(RegionDistanceDto::getDistanceKm).reversed());
+        int centerColumn = column(longitude);
+        int centerRow = row(latitude);
+        int maxRing = Math.max(columns, rows);
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            if (best.size() >= entriesById.size()
+                    || best.size() >= limit && ringLowerBoundKm(latitude, ring) > best.peek().getDistanceKm()) {
+                break;
+            }
+            for (int dy = -ring; dy <= ring; dy++) {
+                int cellRow = centerRow + dy;
+                if (cellRow < 0 || cellRow >= rows) {
+                    continue;
+                }
+                if (Math.abs(dy) == ring) {
+                    if (2 * ring + 1 >= columns) {
+                        for (int cellColumn = 0; cellColumn < columns; cellColumn++) {
+                            collectNearest(cellColumn, cellRow, latitude, longitude, limit, best);
+                        }
+                    } else {
+                        for (int dx = -ring; dx <= ring; dx++) {
+                            collectNearest(Math.floorMod(centerColumn + dx, columns), cellRow, latitude, longitude, limit, best);
+                        }
+                    }
+                } else if (2 * ring < columns) {
+                    collectNearest(Math.floorMod(centerColumn - ring, columns), cellRow, latitude, longitude, limit, best);
+                    collectNearest(Math.floorMod(centerColumn + ring, columns), cellRow, latitude, longitude, limit, best);
+                } else if (2 * ring == columns) {
+                    collectNearest(Math.floorMod(centerColumn + ring, columns), cellRow, latitude, longitude, limit, best);
+                }
+            }
+        }
+
+        List<RegionDistanceDto> result = new ArrayList<>(best);
+        result.sort(Comparator.comparingDouble(RegionDistanceDto::getDistanceKm));
+        return result;
+    }
+
+    public int size() {
+        return entriesById.size();
+    }
+
+    private void collectNearest(int cellColumn, int cellRow, double latitude, double longitude, int limit, PriorityQueue<RegionDistanceDto> best) {
+        Map<Long, Entry> cell = cells.get(cellKey(cellColumn, cellRow));
+        if (cell == null) {
+            return;
+        }
+        for (Entry entry : cell.values()) {
+            double distance = distanceKm(latitude, longitude, entry.latitude, entry.longitude);
+            if (best.size() < limit) {
+                best.add(new RegionDistanceDto(entry.region, distance));
+            } else if (distance < best.peek().getDistanceKm()) {
+                best.poll();
+                best.add(new RegionDistanceDto(entry.region, distance));
+            }
+        }
+    }
+
+    /**
+     * Smallest possible distance from the query point to any cell of the given ring: a ring cell is at least
+     * {@code ring - 1} cells away either along the meridian or across meridians, where the haversine term
+     * {@code cos(lat1) * cos(lat2) * sin^2(dLon / 2)} is bounded using the most poleward latitude the ring reaches.
+     */
+    private double ringLowerBoundKm(double latitude, int ring) {
+        double gapDegrees = Math.max(0, ring - 1) * cellDegrees;
+        double alongMeridian = Math.min(180, gapDegrees) * KM_PER_DEGREE;
+        double poleward = Math.min(90, Math.abs(latitude) + (ring + 1) * cellDegrees);
+        double halfLongitudeGap = Math.toRadians(Math.min(180, gapDegrees)) / 2;
+        double acrossMeridians = 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.cos(Math.toRadians(poleward)) * Math.sin(halfLongitudeGap)));
+        return Math.min(alongMeridian, acrossMeridians);
+    }
+
+    private void forEachCell(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude, Consumer<Entry> consumer) {
+        int firstRow = row(Math.max(-90, minLatitude));
+        int lastRow = row(Math.min(90, maxLatitude));
+        int firstColumn = (int) Math.floor((minLongitude + 180) / cellDegrees);
+        int lastColumn = (int) Math.floor((maxLongitude + 180) / cellDegrees);
+        if (lastColumn - firstColumn >= columns) {
+            firstColumn = 0;
+            lastColumn = columns - 1;
+        }
+        for (int cellRow = firstRow; cellRow <= lastRow; cellRow++) {
+            for (int cellColumn = firstColumn; cellColumn <= lastColumn; cellColumn++) {
+                Map<Long, Entry> cell = cells.get(cellKey(Math.floorMod(cellColumn, columns), cellRow));
+                if (cell != null) {
+                    cell.values().forEach(consumer);
+                }
+            }
+        }
+    }
+
+    private double longitudeDelta(double latitude, double latitudeDelta) {
+        double farthestLatitude = Math.min(90, Math.abs(latitude) + latitudeDelta);
+        double cos = Math.cos(Math.toRadians(farthestLatitude));
+        return cos < 1e-9 ? 180 : Math.min(180, latitudeDelta / cos);
+    }
+
+    private boolean isWithinLongitudes(double longitude, double minLongitude, double maxLongitude) {
+        return minLongitude <= maxLongitude
+                ? longitude >= minLongitude && longitude <= maxLongitude
+                : longitude >= minLongitude || longitude <= maxLongitude;
+    }
+
+    private int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / cellDegrees), columns);
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    private long cellKey(int column, int row) {
+        return (long) row * columns + column;
+    }
+
+    static double distanceKm(double latitude1, double longitude1, double latitude2, double longitude2) {
+        double dLatitude = Math.toRadians(latitude2 - latitude1);
+        double dLongitude = Math.toRadians(longitude2 - longitude1);
+        double a = Math.sin(dLatitude / 2) * Math.sin(dLatitude / 2)
+                + Math.cos(Math.toRadians(latitude1)) * Math.cos(Math.toRadians(latitude2))
+                * Math.sin(dLongitude / 2) * Math.sin(dLongitude / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static final class Entry {
+        private final RegionResponseDto region;
+        private final double latitude;
+        private final double longitude;
+
+        private Entry(RegionResponseDto region, double latitude, double longitude) {
+            this.region = region;
+            this.latitude = latitude;
+            this.longitude = longitude;
+        }
+    }
+}
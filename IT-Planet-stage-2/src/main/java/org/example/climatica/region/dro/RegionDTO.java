@@ -7,6 +7,7 @@ public class RegionDTO {
     private Long regionType;
     private String name;
     private String parentRegion;
+    private Long parentRegionId;
     private Double latitude;
     private Double longitude;
 }
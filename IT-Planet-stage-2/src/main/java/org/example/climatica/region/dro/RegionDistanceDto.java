@@ -0,0 +1,11 @@
+package org.example.climatica.region.dro;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RegionDistanceDto {
+    private RegionResponseDto region;
+    private double distanceKm;
+}
@@ -10,6 +10,7 @@ public class RegionResponseDto {
     private Long id;
     private String name;
     private String parentRegion;
+    private Long parentRegionId;
     private Double latitude;
     private Double longitude;
     private Long regionType;
@@ -18,6 +19,7 @@ public class RegionResponseDto {
         this.id = region.getId();
         this.name = region.getName();
         this.parentRegion = region.getParentRegion();
+        this.parentRegionId = region.getParentRegionId();
         this.latitude = region.getLatitude();
         this.longitude = region.getLongitude();
         this.regionType = region.getRegionType();
@@ -6,6 +6,7 @@ import lombok.Data;
 public class RegionUpdateDTO {
     private String name;
     private String parentRegion;
+    private Long parentRegionId;
     private Double latitude;
     private Double longitude;
 }
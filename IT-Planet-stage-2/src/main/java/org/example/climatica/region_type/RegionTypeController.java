@@ -1,9 +1,12 @@
 package org.example.climatica.region_type;
 
+import org.example.climatica.etag.ConditionalResponses;
+import org.example.climatica.etag.EntityVersionCache;
 import org.example.climatica.model.RegionType;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -18,23 +21,29 @@ import java.util.Optional;
 public class RegionTypeController {
 
     private final RegionTypeService regionTypeService;
+    private final EntityVersionCache entityVersionCache;
 
-    public RegionTypeController(RegionTypeService regionTypeService) {
+    public RegionTypeController(RegionTypeService regionTypeService, EntityVersionCache entityVersionCache) {
         this.regionTypeService = regionTypeService;
+        this.entityVersionCache = entityVersionCache;
     }
 
     @Operation(summary = "Get a region type by ID", responses = {
             @ApiResponse(description = "Region type found", responseCode = "200", content = @Content(schema = @Schema(implementation = RegionType.class))),
+            @ApiResponse(description = "Region type not modified since the ETag in If-None-Match", responseCode = "304"),
             @ApiResponse(description = "Region type not found", responseCode = "404"),
             @ApiResponse(description = "Invalid type ID", responseCode = "400")
     })
     @GetMapping("/{typeId}")
-    public ResponseEntity<?> getRegionType(@PathVariable Long typeId) {
+    public ResponseEntity<?> getRegionType(@PathVariable Long typeId, WebRequest request) {
         if (typeId == null || typeId <= 0) {
             return ResponseEntity.badRequest().body("Invalid type ID");
         }
+        if (ConditionalResponses.notModified(request, entityVersionCache.get(RegionType.class, typeId), typeId)) {
+            return null;
+        }
         return regionTypeService.findRegionTypeById(typeId)
-                .map(ResponseEntity::ok)
+                .map(ConditionalResponses::ok)
                 .orElse(ResponseEntity.notFound().build());
     }
 
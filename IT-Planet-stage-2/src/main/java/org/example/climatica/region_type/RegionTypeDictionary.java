@@ -0,0 +1,88 @@
+package org.example.climatica.region_type;
+
+import jakarta.annotation.PostConstruct;
+import org.example.climatica.model.RegionType;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of all region types indexed by id and by type name. Lookups read a volatile reference and never
+ * touch the database; writes through {@link RegionTypeService} build a new snapshot and swap it in. Entries are
+ * detached copies and must not be modified.
+ */
+@Component
+public class RegionTypeDictionary {
+
+    private final RegionTypeRepository regionTypeRepository;
+    private volatile Snapshot snapshot = new Snapshot(Map.of(), Map.of());
+
+    public RegionTypeDictionary(RegionTypeRepository regionTypeRepository) {
+        this.regionTypeRepository = regionTypeRepository;
+    }
+
+    @PostConstruct
+    public void load() {
+        replaceAll(regionTypeRepository.findAll());
+    }
+
+    public Optional<RegionType> findById(Long id) {
+        return Optional.ofNullable(snapshot.byId().get(id));
+    }
+
+    public Optional<RegionType> findByType(String type) {
+        return Optional.ofNullable(snapshot.byType().get(type));
+    }
+
+    public boolean contains(Long id) {
+        return snapshot.byId().containsKey(id);
+    }
+
+    synchronized void replaceAll(List<RegionType> regionTypes) {
+        Map<Long, RegionType> byId = new HashMap<>();
+        for (RegionType regionType : regionTypes) {
+            byId.put(regionType.getId(), copyOf(regionType));
+        }
+        snapshot = Snapshot.of(byId);
+    }
+
+    synchronized void put(RegionType regionType) {
+        Map<Long, RegionType> byId = new HashMap<>(snapshot.byId());
+        byId.put(regionType.getId(), copyOf(regionType));
+        snapshot = Snapshot.of(byId);
+    }
+
+    synchronized void remove(Long id) {
+        if (!snapshot.byId().containsKey(id)) {
+            return;
+        }
+        Map<Long, RegionType> byId = new HashMap<>(snapshot.byId());
+        byId.remove(id);
+        snapshot = Snapshot.of(byId);
+    }
+
+    private static RegionType copyOf(RegionType regionType) {
+        RegionType copy = new RegionType();
+        copy.setId(regionType.getId());
+        copy.setType(regionType.getType());
+        copy.setVersion(regionType.getVersion());
+        copy.setLastModified(regionType.getLastModified());
+        return copy;
+    }
+
+    private record Snapshot(Map<Long, RegionType> byId, Map<String, RegionType> byType) {
+
+        static Snapshot of(Map<Long, RegionType> byId) {
+            Map<String, RegionType> byType = new HashMap<>();
+            for (RegionType regionType : byId.values()) {
+                if (regionType.getType() != null) {
+                    byType.put(regionType.getType(), regionType);
+                }
+            }
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byType));
+        }
+    }
+}
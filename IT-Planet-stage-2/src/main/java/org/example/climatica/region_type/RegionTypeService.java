@@ -8,33 +8,46 @@ import java.util.Optional;
 @Service
 public class RegionTypeService {
     private final RegionTypeRepository regionTypeRepository;
+    private final RegionTypeDictionary regionTypeDictionary;
 
-    public RegionTypeService(RegionTypeRepository regionTypeRepository) {
+    public RegionTypeService(RegionTypeRepository regionTypeRepository, RegionTypeDictionary regionTypeDictionary) {
         this.regionTypeRepository = regionTypeRepository;
+        this.regionTypeDictionary = regionTypeDictionary;
     }
 
     public Optional<RegionType> findRegionTypeById(Long id) {
-        return regionTypeRepository.findById(id);
+        return regionTypeDictionary.findById(id);
     }
 
     public RegionType saveRegionType(RegionType regionType) {
-        return regionTypeRepository.save(regionType);
+        RegionType saved = regionTypeRepository.save(regionType);
+        regionTypeDictionary.put(saved);
+        return saved;
     }
 
     public Optional<RegionType> findByType(String type) {
-        return regionTypeRepository.findByType(type);
+        return regionTypeDictionary.findByType(type);
     }
 
     public Optional<RegionType> updateRegionType(Long id, RegionTypeDto dto) {
+        if (!regionTypeDictionary.contains(id)) {
+            return Optional.empty();
+        }
         return regionTypeRepository.findById(id).map(type -> {
             type.setType(dto.getType());
-            return regionTypeRepository.save(type);
+            RegionType saved = regionTypeRepository.save(type);
+            regionTypeDictionary.put(saved);
+            return saved;
         });
     }
 
     public boolean deleteRegionType(Long id) {
+        if (!regionTypeDictionary.contains(id)) {
+            return false;
+        }
         return regionTypeRepository.findById(id).map(type -> {
             regionTypeRepository.delete(type);
+            regionTypeDictionary.remove(id);
             return true;
         }).orElse(false);
     }
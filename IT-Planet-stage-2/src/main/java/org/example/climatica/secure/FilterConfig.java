@@ -1,5 +1,6 @@
 package org.example.climatica.secure;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,9 +11,10 @@ import java.util.HashMap;
 public class FilterConfig {
 
     @Bean
-    public FilterRegistrationBean<UserIdCookieFilter> userIdCookieFilter() {
-        FilterRegistrationBean<UserIdCookieFilter> registrationBean = new FilterRegistrationBean<>();
-        registrationBean.setFilter(new UserIdCookieFilter());
+    public FilterRegistrationBean<SessionTokenFilter> sessionTokenFilter(SessionTokenService sessionTokenService,
+                                                                         @Value("${security.metrics.scrape-token:}") String scrapeToken) {
+        FilterRegistrationBean<SessionTokenFilter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(new SessionTokenFilter(sessionTokenService, scrapeToken));
 
         registrationBean.addUrlPatterns("/*");
 
@@ -0,0 +1,15 @@
+package org.example.climatica.secure;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+@Getter
+@AllArgsConstructor
+public class SessionPrincipal {
+    public static final String REQUEST_ATTRIBUTE = "sessionPrincipal";
+
+    private final Long accountId;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,77 @@
+package org.example.climatica.secure;
+
+import jakarta.servlet.*;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+public class SessionTokenFilter implements Filter {
+
+    // The scrape endpoint also accepts a static bearer token, so Prometheus needs no session; without one configured
+    // it is protected like every other endpoint.
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionTokenService sessionTokenService;
+    private final byte[] scrapeToken;
+
+    public SessionTokenFilter(SessionTokenService sessionTokenService, String scrapeToken) {
+        this.sessionTokenService = sessionTokenService;
+        this.scrapeToken = scrapeToken == null || scrapeToken.isEmpty() ? null : scrapeToken.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void doFilter(ServletRequest servletRequest, ServletResponse servletResponse, FilterChain chain)
+            throws IOException, ServletException {
+        HttpServletRequest request = (HttpServletRequest) servletRequest;
+        HttpServletResponse response = (HttpServletResponse) servletResponse;
+
+        String path = request.getRequestURI();
+
+        if (path.startsWith("/login") || path.startsWith("/registration") || path.startsWith("/swagger-ui/") || path.startsWith("/v3/api-docs")
+                || (path.equals(PROMETHEUS_PATH) && hasScrapeToken(request))) {
+            chain.doFilter(servletRequest, servletResponse);
+            return;
+        }
+
+        Optional<SessionPrincipal> principal = sessionTokenService.verify(findSessionToken(request));
+        if (principal.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.getWriter().write("Unauthorized: No valid session cookie provided");
+            return;
+        }
+
+        request.setAttribute(SessionPrincipal.REQUEST_ATTRIBUTE, principal.get());
+        chain.doFilter(servletRequest, servletResponse);
+    }
+
+    private boolean hasScrapeToken(HttpServletRequest request) {
+        String authorization = request.getHeader("Authorization");
+        if (scrapeToken == null || authorization == null || !authorization.startsWith(BEARER_PREFIX)) {
+            return false;
+        }
+        byte[] presented = authorization.substring(BEARER_PREFIX.length()).getBytes(StandardCharsets.UTF_8);
+        return MessageDigest.isEqual(scrapeToken, presented);
+    }
+
+    private String findSessionToken(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (SessionTokenService.COOKIE_NAME.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void destroy() {
+    }
+}
@@ -0,0 +1,115 @@
+package org.example.climatica.secure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Issues and verifies stateless session tokens of the form {@code base64url(accountId:expiresAtEpochSecond).base64url(hmac)}.
+ * Verification is a single HMAC-SHA256 over a few bytes and never touches the database.
+ */
+@Component
+public class SessionTokenService {
+
+    public static final String COOKIE_NAME = "session";
+
+    private static final Logger log = LoggerFactory.getLogger(SessionTokenService.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final int MAC_POOL_SIZE = 64;
+
+    private final Duration ttl;
+    private final Mac prototype;
+    private final BlockingQueue<Mac> idle = new ArrayBlockingQueue<>(MAC_POOL_SIZE);
+
+    public SessionTokenService(@Value("${security.session.secret:}") String secret,
+                               @Value("${security.session.ttl:PT12H}") Duration ttl) {
+        this.ttl = ttl;
+        try {
+            this.prototype = Mac.getInstance(ALGORITHM);
+            this.prototype.init(new SecretKeySpec(resolveSecret(secret), ALGORITHM));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    public String issue(Long accountId) {
+        long expiresAt = Instant.now().plus(ttl).getEpochSecond();
+        byte[] payload = (accountId + ":" + expiresAt).getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payload) + "." + ENCODER.encodeToString(sign(payload));
+    }
+
+    public Optional<SessionPrincipal> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        int separator = token.indexOf('.');
+        if (separator <= 0) {
+            return Optional.empty();
+        }
+        try {
+            byte[] payload = DECODER.decode(token.substring(0, separator));
+            byte[] signature = DECODER.decode(token.substring(separator + 1));
+            if (!MessageDigest.isEqual(sign(payload), signature)) {
+                return Optional.empty();
+            }
+            String claims = new String(payload, StandardCharsets.US_ASCII);
+            int colon = claims.indexOf(':');
+            Instant expiresAt = Instant.ofEpochSecond(Long.parseLong(claims.substring(colon + 1)));
+            if (!expiresAt.isAfter(Instant.now())) {
+                return Optional.empty();
+            }
+            return Optional.of(new SessionPrincipal(Long.parseLong(claims.substring(0, colon)), expiresAt));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            return Optional.empty();
+        }
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    // Keyed Macs are pooled rather than thread-local: with virtual threads every request runs on a fresh thread.
+    private byte[] sign(byte[] payload) {
+        Mac mac = idle.poll();
+        if (mac == null) {
+            mac = newMac();
+        }
+        byte[] signature = mac.doFinal(payload);
+        idle.offer(mac);
+        return signature;
+    }
+
+    private Mac newMac() {
+        try {
+            return (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("HMAC-SHA256 implementation cannot be cloned", e);
+        }
+    }
+
+    private static byte[] resolveSecret(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        log.warn("security.session.secret is not set; using a random key, sessions will not survive a restart");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
@@ -0,0 +1,37 @@
+package org.example.climatica.streaming;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes a JSON array element by element as a producer hands items over. The closing bracket is written only when
+ * the producer returns normally: a failure part-way leaves an unterminated array, which clients reject, instead of a
+ * well-formed but shorter one.
+ */
+public final class JsonArrayStreams {
+
+    private JsonArrayStreams() {
+    }
+
+    public static <T> void write(ObjectMapper objectMapper, OutputStream outputStream,
+                                 Consumer<Consumer<T>> producer) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.writeStartArray();
+        producer.accept(item -> {
+            try {
+                generator.writeObject(item);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        generator.writeEndArray();
+        generator.close();
+    }
+}
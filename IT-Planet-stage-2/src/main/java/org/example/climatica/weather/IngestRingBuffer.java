@@ -0,0 +1,63 @@
+package org.example.climatica.weather;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded multi-producer, single-consumer ring. Producers claim a sequence with a CAS on {@code tail} and then
+ * publish into the slot; the consumer takes slots in sequence order until it meets one that is not published yet.
+ * A slot is cleared before {@code head} moves past it, so a producer never overwrites an unconsumed item.
+ */
+final class IngestRingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    IngestRingBuffer(int minCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(1, minCapacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+    }
+
+    boolean offer(T item) {
+        long sequence;
+        do {
+            sequence = tail.get();
+            if (sequence - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(sequence, sequence + 1));
+        slots.set((int) sequence & mask, item);
+        return true;
+    }
+
+    /** Consumer only. */
+    int drainTo(List<T> target, int maxItems) {
+        long sequence = head.get();
+        int drained = 0;
+        while (drained < maxItems) {
+            int slot = (int) sequence & mask;
+            T item = slots.get(slot);
+            if (item == null) {
+                break;
+            }
+            slots.set(slot, null);
+            target.add(item);
+            sequence++;
+            drained++;
+        }
+        head.set(sequence);
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head.get());
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
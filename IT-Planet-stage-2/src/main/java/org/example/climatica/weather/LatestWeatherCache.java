@@ -0,0 +1,143 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.weather.dto.LatestWeatherCacheStats;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+
+/**
+ * Bounded LRU cache of the latest observation per region. Values are detached response snapshots, so a hit
+ * needs neither a database round-trip nor an open persistence context. Entries are spread over independently
+ * locked segments, each an LRU of its own share of the capacity.
+ * <p>
+ * Eviction leaves a tombstone stamped with an invalidation sequence. A reader that misses takes a {@link #ticket()}
+ * before querying and passes it to {@link #putIfNewer}; if the region was invalidated after that, the loaded row may
+ * predate the change and is not cached.
+ */
+@Component
+public class LatestWeatherCache {
+
+    private static final int SEGMENT_BITS = 4;
+
+    private final int maxSize;
+    private final Segment[] segments;
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public LatestWeatherCache(@Value("${weather.latest-cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.segments = new Segment[1 << SEGMENT_BITS];
+        int segmentSize = Math.max(1, (maxSize + segments.length - 1) / segments.length);
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = new Segment(segmentSize);
+        }
+    }
+
+    public WeatherDataResponse get(Long regionId) {
+        Entry entry = segmentFor(regionId).get(regionId);
+        WeatherDataResponse cached = entry != null ? entry.value() : null;
+        (cached != null ? hits : misses).incrementAndGet();
+        return cached;
+    }
+
+    /**
+     * Marker to take before loading a region's latest observation from the database.
+     */
+    public long ticket() {
+        return invalidations.get();
+    }
+
+    public void putIfNewer(Long regionId, WeatherDataResponse candidate, long ticket) {
+        segmentFor(regionId).update(regionId, current -> {
+            if (current == null) {
+                return new Entry(candidate, 0);
+            }
+            if (current.value() == null) {
+                return current.invalidatedAt() > ticket ? current : new Entry(candidate, 0);
+            }
+            return isNewer(candidate, current.value()) ? new Entry(candidate, 0) : current;
+        });
+    }
+
+    /**
+     * Publishes a committed write. Without a cached value to compare against, the candidate is not known to be the
+     * latest row, so a fresh tombstone is left instead; it also stops loads that began before the commit from
+     * installing what they read.
+     */
+    public void offer(Long regionId, WeatherDataResponse candidate) {
+        segmentFor(regionId).update(regionId, current -> {
+            if (current == null || current.value() == null) {
+                return new Entry(null, invalidations.incrementAndGet());
+            }
+            return isNewer(candidate, current.value()) ? new Entry(candidate, 0) : current;
+        });
+    }
+
+    public void evict(Long regionId) {
+        Entry tombstone = new Entry(null, invalidations.incrementAndGet());
+        segmentFor(regionId).update(regionId, current -> tombstone);
+    }
+
+    public LatestWeatherCacheStats getStats() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return new LatestWeatherCacheStats(hits.get(), misses.get(), evictions.get(), size, maxSize);
+    }
+
+    private Segment segmentFor(Long regionId) {
+        return segments[(Objects.hashCode(regionId) * 0x9E3779B9) >>> (Integer.SIZE - SEGMENT_BITS)];
+    }
+
+    private boolean isNewer(WeatherDataResponse offered, WeatherDataResponse current) {
+        if (current.getMeasurementDateTime() == null) {
+            return true;
+        }
+        if (offered.getMeasurementDateTime() == null) {
+            return false;
+        }
+        int byTime = offered.getMeasurementDateTime().compareTo(current.getMeasurementDateTime());
+        return byTime > 0 || (byTime == 0 && offered.getId() >= current.getId());
+    }
+
+    private record Entry(WeatherDataResponse value, long invalidatedAt) {
+    }
+
+    private final class Segment {
+        private final Map<Long, Entry> entries;
+
+        Segment(int capacity) {
+            this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                    if (size() > capacity) {
+                        evictions.incrementAndGet();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        synchronized Entry get(Long regionId) {
+            return entries.get(regionId);
+        }
+
+        synchronized void update(Long regionId, UnaryOperator<Entry> remapping) {
+            entries.compute(regionId, (id, current) -> remapping.apply(current));
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+    }
+}
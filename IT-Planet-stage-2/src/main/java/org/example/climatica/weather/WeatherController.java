@@ -1,35 +1,94 @@
 package org.example.climatica.weather;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
+import org.example.climatica.etag.ConditionalResponses;
+import org.example.climatica.etag.EntityVersionCache;
+import org.example.climatica.exception.DuplicateObservationException;
 import org.example.climatica.exception.InvalidParametersException;
 import org.example.climatica.exception.NotFoundException;
 import org.example.climatica.exception.UnauthorizedException;
 import org.example.climatica.model.WeatherData;
+import org.example.climatica.streaming.JsonArrayStreams;
+import org.example.climatica.weather.dto.LatestWeatherCacheStats;
+import org.example.climatica.weather.dto.WeatherBatchResponse;
 import org.example.climatica.weather.dto.WeatherDataCreateRequest;
 import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.example.climatica.weather.dto.WeatherSearchPage;
+import org.example.climatica.weather.dto.WeatherSeriesDto;
 import org.example.climatica.weather.dto.WeatherUpdateDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @Tag(name = "Weather Controller", description = "API for managing weather")
 @RequestMapping("/region/weather")
 public class WeatherController {
 
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+    private static final int BATCH_CHUNK_SIZE = 500;
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(TEXT_CSV_VALUE);
+    private static final int EXPORT_BUFFER_SIZE = 16 * 1024;
+    private static final int MAX_EXPORT_REGIONS = 1000;
+    private static final String ACK_SYNC = "sync";
+    private static final String ACK_ASYNC = "async";
+    private static final String OUTCOME_UNKNOWN = "Observation is queued but was not committed within the ack timeout; " +
+            "it will most likely be stored. Check before retrying, a retry may be rejected as a duplicate.";
+
     private final WeatherService weatherService;
+    private final LatestWeatherCache latestWeatherCache;
+    private final ObjectMapper objectMapper;
+    private final WeatherMetrics weatherMetrics;
+    private final WeatherIngestBuffer weatherIngestBuffer;
+    private final WeatherCsvExporter weatherCsvExporter;
+    private final Duration ackTimeout;
 
-    public WeatherController(WeatherService weatherService) {
+    public WeatherController(WeatherService weatherService, LatestWeatherCache latestWeatherCache, ObjectMapper objectMapper,
+                             WeatherMetrics weatherMetrics, WeatherIngestBuffer weatherIngestBuffer,
+                             WeatherCsvExporter weatherCsvExporter,
+                             @Value("${weather.ingest.ack-timeout:PT5S}") Duration ackTimeout) {
         this.weatherService = weatherService;
+        this.latestWeatherCache = latestWeatherCache;
+        this.objectMapper = objectMapper;
+        this.weatherMetrics = weatherMetrics;
+        this.weatherIngestBuffer = weatherIngestBuffer;
+        this.weatherCsvExporter = weatherCsvExporter;
+        this.ackTimeout = ackTimeout;
     }
 
     @Operation(summary = "Get weather information by region ID",
@@ -45,9 +104,10 @@ public class WeatherController {
             return ResponseEntity.badRequest().body("Invalid region ID");
         }
         try {
-            WeatherData weatherData = weatherService.getWeatherByRegionId(regionId);
-            WeatherDataResponse weatherDataResponse = convertToResponse(weatherData);
-            return ResponseEntity.ok(weatherDataResponse);
+            WeatherDataResponse weatherDataResponse = weatherService.getLatestWeather(regionId);
+            return ConditionalResponses.ok(weatherDataResponse.getId(),
+                    new EntityVersionCache.VersionStamp(weatherDataResponse.getVersion(), weatherDataResponse.getLastModified()),
+                    weatherDataResponse);
         } catch (UnauthorizedException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         } catch (NotFoundException e) {
@@ -56,6 +116,8 @@ public class WeatherController {
     }
 
     @Operation(summary = "Search weather information",
+            description = "All filters are optional. Pass the cursor parameter (empty for the first page) to switch to keyset pagination: " +
+                    "the response then contains the page items and an opaque nextCursor, and the page parameter is ignored.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Weather data list retrieved successfully"),
                     @ApiResponse(responseCode = "400", description = "Bad request due to invalid input parameters"),
@@ -68,11 +130,16 @@ public class WeatherController {
             @RequestParam(required = false) String endDateTime,
             @RequestParam(required = false) Long regionId,
             @RequestParam(required = false) String weatherCondition,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size) {
 
         try {
-            List<WeatherData> weatherDataList = weatherService.searchWeather(startDateTime, endDateTime, regionId, weatherCondition, page, size);
+            if (cursor != null) {
+                WeatherSearchPage searchPage = weatherService.searchWeatherAfter(startDateTime, endDateTime, regionId, weatherCondition, cursor, size);
+                return ResponseEntity.ok(searchPage);
+            }
+            List<WeatherDataResponse> weatherDataList = weatherService.searchWeather(startDateTime, endDateTime, regionId, weatherCondition, page, size);
             return ResponseEntity.ok(weatherDataList);
         } catch (DateTimeParseException e) {
             return ResponseEntity.badRequest().body("Invalid date format. Please use ISO-8601 format.");
@@ -85,53 +152,319 @@ public class WeatherController {
         }
     }
 
+    @Operation(summary = "Export weather search results or region history",
+            description = "Takes the same filters as /search without paging and returns every matching record ordered by " +
+                    "measurementDateTime. The array is written while rows are read from the database; the response is " +
+                    "gzip-encoded when the client accepts it.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Export streamed successfully", content = @Content(schema = @Schema(implementation = WeatherDataResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid filter parameters"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access")
+            })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportWeather(
+            @RequestParam(required = false) String startDateTime,
+            @RequestParam(required = false) String endDateTime,
+            @RequestParam(required = false) Long regionId,
+            @RequestParam(required = false) String weatherCondition,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        Specification<WeatherData> filters;
+        try {
+            filters = weatherService.buildSearchFilters(startDateTime, endDateTime, regionId, weatherCondition);
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return streamed(MediaType.APPLICATION_JSON, null, acceptEncoding, outputStream ->
+                JsonArrayStreams.<WeatherDataResponse>write(objectMapper, outputStream,
+                        consumer -> weatherService.exportWeather(filters, consumer)));
+    }
+
+    @Operation(summary = "Export weather history of a set of regions as CSV",
+            description = "Streams id, region_id, measurement_date_time, temperature, humidity, wind_speed, weather_condition and " +
+                    "precipitation_amount with a header row, ordered by region and measurement time. The rows are produced by " +
+                    "PostgreSQL COPY; the response is gzip-encoded when the client accepts it.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "CSV streamed successfully"),
+                    @ApiResponse(responseCode = "400", description = "Missing or invalid region IDs or date range"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access")
+            })
+    @GetMapping(value = "/export/csv", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportWeatherCsv(
+            @RequestParam List<Long> regionIds,
+            @RequestParam(required = false) String startDateTime,
+            @RequestParam(required = false) String endDateTime,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        Set<Long> uniqueIds = new LinkedHashSet<>(regionIds);
+        if (uniqueIds.isEmpty() || uniqueIds.size() > MAX_EXPORT_REGIONS
+                || uniqueIds.stream().anyMatch(id -> id == null || id <= 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime start;
+        LocalDateTime end;
+        try {
+            start = startDateTime != null ? LocalDateTime.parse(startDateTime) : null;
+            end = endDateTime != null ? LocalDateTime.parse(endDateTime) : null;
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (start != null && end != null && end.isBefore(start)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return streamed(TEXT_CSV, "weather-export.csv", acceptEncoding, outputStream -> {
+            try {
+                weatherCsvExporter.export(uniqueIds, start, end, outputStream);
+            } catch (SQLException e) {
+                throw new IOException("CSV export failed", e);
+            }
+        });
+    }
+
+    private static ResponseEntity<StreamingResponseBody> streamed(MediaType contentType, String fileName, String acceptEncoding,
+                                                                  StreamingResponseBody writer) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (fileName != null) {
+            response.header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        }
+        if (!acceptsGzip(acceptEncoding)) {
+            return response.body(writer);
+        }
+        return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(outputStream -> {
+            AbortableGzipOutputStream compressed = new AbortableGzipOutputStream(outputStream, EXPORT_BUFFER_SIZE);
+            try {
+                writer.writeTo(compressed);
+            } catch (Throwable e) {
+                compressed.abort();
+                throw e;
+            }
+            compressed.close();
+        });
+    }
+
+    /**
+     * gzip stream whose deflater can be released without writing the trailer, so a failed export reaches the client
+     * as a broken stream rather than a well-formed, shorter file.
+     */
+    private static final class AbortableGzipOutputStream extends GZIPOutputStream {
+
+        AbortableGzipOutputStream(OutputStream out, int size) throws IOException {
+            super(out, size);
+        }
+
+        void abort() {
+            def.end();
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip: listed as gzip/x-gzip, or covered by "*", with a non-zero q-value.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        double gzip = -1;
+        double wildcard = -1;
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        return (gzip >= 0 ? gzip : wildcard) > 0;
+    }
+
+    @Operation(summary = "Get a column-wise time series of observations for a region",
+            description = "Returns parallel arrays ordered by measurement time; measurementEpochSeconds holds measurementDateTime " +
+                    "as seconds since 1970-01-01T00:00. Recent ranges are served from memory.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Series retrieved successfully", content = @Content(schema = @Schema(implementation = WeatherSeriesDto.class))),
+                    @ApiResponse(responseCode = "400", description = "Invalid region ID or date range"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access")
+            })
+    @GetMapping("/series")
+    public ResponseEntity<?> getWeatherSeries(
+            @RequestParam Long regionId,
+            @RequestParam String startDateTime,
+            @RequestParam(required = false) String endDateTime) {
+        try {
+            return ResponseEntity.ok(weatherService.getSeries(regionId, startDateTime, endDateTime));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid date format. Please use ISO-8601 format.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     @Operation(summary = "Add weather data",
+            description = "Observations are queued and stored in batches. With ack=sync (default) the response is sent " +
+                    "once the observation has been committed; with ack=async it is sent as soon as the observation is " +
+                    "queued, and rows for unknown regions are dropped later.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Weather data added successfully"),
+                    @ApiResponse(responseCode = "200", description = "Weather data added successfully", content = @Content(schema = @Schema(implementation = WeatherDataResponse.class))),
+                    @ApiResponse(responseCode = "202", description = "Weather data accepted for asynchronous storage, or queued but not committed within the ack timeout (outcome unknown, do not retry blindly)"),
                     @ApiResponse(responseCode = "400", description = "Invalid parameters provided"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized access"),
-                    @ApiResponse(responseCode = "404", description = "Region or forecast ID not found")
+                    @ApiResponse(responseCode = "404", description = "Region or forecast ID not found"),
+                    @ApiResponse(responseCode = "409", description = "An observation for this region and measurementDateTime already exists"),
+                    @ApiResponse(responseCode = "503", description = "Ingestion buffer is full")
             })
     @PostMapping
-    public ResponseEntity<?> addWeather(@RequestBody WeatherDataCreateRequest request) {
+    public CompletableFuture<ResponseEntity<?>> addWeather(@RequestBody WeatherDataCreateRequest request,
+                                                           @RequestParam(defaultValue = ACK_SYNC) String ack) {
+        if (!ACK_SYNC.equals(ack) && !ACK_ASYNC.equals(ack)) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body("Invalid ack mode. Use 'sync' or 'async'."));
+        }
         try {
             validateWeatherData(request);
-            WeatherData weatherData = weatherService.convertToEntity(request);
-            WeatherData createdWeatherData = weatherService.addWeather(weatherData);
-            WeatherDataResponse response = convertToResponse(createdWeatherData);
-            return ResponseEntity.ok(response);
         } catch (InvalidParametersException e) {
-            return ResponseEntity.badRequest().body(e.getMessage());
-        } catch (UnauthorizedException e) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
-        } catch (NotFoundException e) {
-            return ResponseEntity.notFound().build();
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
         }
+
+        if (ACK_ASYNC.equals(ack)) {
+            return CompletableFuture.completedFuture(weatherIngestBuffer.accept(request)
+                    ? ResponseEntity.accepted().build()
+                    : bufferUnavailable());
+        }
+        CompletableFuture<WeatherDataResponse> stored = weatherIngestBuffer.submit(request);
+        if (stored == null) {
+            return CompletableFuture.completedFuture(bufferUnavailable());
+        }
+        return stored.orTimeout(ackTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof NotFoundException) {
+                        return ResponseEntity.notFound().build();
+                    }
+                    if (cause instanceof DuplicateObservationException) {
+                        return ResponseEntity.status(HttpStatus.CONFLICT).body(cause.getMessage());
+                    }
+                    if (cause instanceof TimeoutException) {
+                        return ResponseEntity.accepted().body(OUTCOME_UNKNOWN);
+                    }
+                    return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+                });
+    }
+
+    private static ResponseEntity<?> bufferUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Weather ingestion is busy, retry later");
+    }
+
+    @Operation(summary = "Add a batch of weather data",
+            description = "Accepts a JSON array or an NDJSON stream of observations. Rows are validated and stored in chunks; invalid rows " +
+                    "and rows duplicating a stored region/measurementDateTime are reported by their index.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Batch processed", content = @Content(schema = @Schema(implementation = WeatherBatchResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Malformed request body"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access")
+            })
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<WeatherBatchResponse> addWeatherBatch(@RequestBody List<WeatherDataCreateRequest> requests) {
+        WeatherBatchResponse response = new WeatherBatchResponse();
+        Map<Integer, WeatherDataCreateRequest> chunk = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            collectBatchRow(i, requests.get(i), chunk, response);
+        }
+        flushBatchChunk(chunk, response);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<WeatherBatchResponse> addWeatherBatchStream(InputStream body) throws IOException {
+        WeatherBatchResponse response = new WeatherBatchResponse();
+        Map<Integer, WeatherDataCreateRequest> chunk = new LinkedHashMap<>();
+        int index = 0;
+        try (MappingIterator<WeatherDataCreateRequest> rows = objectMapper.readerFor(WeatherDataCreateRequest.class).readValues(body)) {
+            while (rows.hasNextValue()) {
+                collectBatchRow(index, rows.nextValue(), chunk, response);
+                index++;
+            }
+        } catch (JsonProcessingException e) {
+            response.addError(index, "Malformed row: " + e.getOriginalMessage());
+        }
+        flushBatchChunk(chunk, response);
+        return ResponseEntity.ok(response);
+    }
+
+    private void collectBatchRow(int index, WeatherDataCreateRequest request, Map<Integer, WeatherDataCreateRequest> chunk, WeatherBatchResponse response) {
+        if (request == null) {
+            response.addError(index, "Empty row");
+            return;
+        }
+        try {
+            validateWeatherData(request);
+        } catch (InvalidParametersException e) {
+            response.addError(index, e.getMessage());
+            return;
+        }
+        chunk.put(index, request);
+        if (chunk.size() >= BATCH_CHUNK_SIZE) {
+            flushBatchChunk(chunk, response);
+        }
+    }
+
+    private void flushBatchChunk(Map<Integer, WeatherDataCreateRequest> chunk, WeatherBatchResponse response) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        // A violation means another writer committed one of the chunk's keys after the duplicate check. The retry
+        // reports those keys as duplicates, so it repeats only while further keys of the chunk keep being taken.
+        WeatherBatchResponse attempt;
+        do {
+            attempt = tryStoreChunk(chunk);
+        } while (attempt == null);
+        response.merge(attempt);
+        chunk.clear();
+    }
+
+    private WeatherBatchResponse tryStoreChunk(Map<Integer, WeatherDataCreateRequest> chunk) {
+        WeatherBatchResponse attempt = new WeatherBatchResponse();
+        try {
+            weatherService.addWeatherBatch(chunk, attempt);
+            return attempt;
+        } catch (DataIntegrityViolationException e) {
+            return null;
+        }
+    }
+
+    @Operation(summary = "Get latest-observation cache statistics",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Cache statistics retrieved successfully", content = @Content(schema = @Schema(implementation = LatestWeatherCacheStats.class))),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access")
+            })
+    @GetMapping("/cache/stats")
+    public ResponseEntity<LatestWeatherCacheStats> getLatestWeatherCacheStats() {
+        return ResponseEntity.ok(latestWeatherCache.getStats());
     }
 
     public WeatherDataResponse convertToResponse(WeatherData weatherData) {
-        WeatherDataResponse response = new WeatherDataResponse();
-        response.setId(weatherData.getId());
-        if (weatherData.getRegion() != null) {
-            response.setRegionName(weatherData.getRegion().getName());
-        } else {
-            response.setRegionName("Unknown Region");
-        }
-        response.setTemperature(weatherData.getTemperature());
-        response.setHumidity(weatherData.getHumidity());
-        response.setWindSpeed(weatherData.getWindSpeed());
-        response.setWeatherCondition(weatherData.getWeatherCondition().toString());
-        response.setPrecipitationAmount(weatherData.getPrecipitationAmount());
-        response.setMeasurementDateTime(weatherData.getMeasurementDateTime());
-        response.setWeatherForecast(weatherData.getWeatherForecast());
-        return response;
-    }
-
-    private void validateWeatherData(WeatherDataCreateRequest request) throws InvalidParametersException {
-        if (request.getRegionId() == null || request.getRegionId() <= 0 ||
-                request.getMeasurementDateTime() == null || request.getWindSpeed() < 0 ||
-                request.getPrecipitationAmount() < 0 ||
-                !Arrays.asList("CLEAR", "CLOUDY", "RAIN", "SNOW", "FOG", "STORM").contains(request.getWeatherCondition())) {
+        return new WeatherDataResponse(weatherData);
+    }
+
+    void validateWeatherData(WeatherDataCreateRequest request) throws InvalidParametersException {
+        if (!WeatherValidation.isValid(request)) {
+            weatherMetrics.recordValidationFailure();
             throw new InvalidParametersException("Invalid parameters provided");
         }
     }
@@ -141,7 +474,8 @@ public class WeatherController {
                     @ApiResponse(responseCode = "200", description = "Weather data updated successfully", content = @Content(schema = @Schema(implementation = WeatherDataResponse.class))),
                     @ApiResponse(responseCode = "400", description = "Invalid parameters provided"),
                     @ApiResponse(responseCode = "401", description = "Unauthorized access"),
-                    @ApiResponse(responseCode = "404", description = "Region not found")
+                    @ApiResponse(responseCode = "404", description = "Region not found"),
+                    @ApiResponse(responseCode = "409", description = "Another observation for this region and measurementDateTime already exists")
             })
     @PutMapping("/{regionId}")
     public ResponseEntity<?> updateWeatherAndRegion(@PathVariable Long regionId, @RequestBody WeatherUpdateDTO dto) {
@@ -150,6 +484,8 @@ public class WeatherController {
             return ResponseEntity.ok(updatedWeatherData);
         } catch (NotFoundException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (DuplicateObservationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body("Invalid weather condition");
         } catch (Exception e) {
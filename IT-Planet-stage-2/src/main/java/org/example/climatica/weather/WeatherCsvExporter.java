@@ -0,0 +1,54 @@
+package org.example.climatica.weather;
+
+import org.postgresql.PGConnection;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Streams weather history as CSV with {@code COPY ... TO STDOUT}: the server renders the rows and the driver copies
+ * the bytes straight to the output stream, so nothing is materialized in the application. COPY takes no bind
+ * parameters; the statement is built only from numeric region ids and parsed timestamps.
+ */
+@Component
+public class WeatherCsvExporter {
+
+    private static final String CSV_COLUMNS = "id,region_id,measurement_date_time,temperature,humidity,wind_speed," +
+            "weather_condition,precipitation_amount";
+
+    private final DataSource dataSource;
+
+    public WeatherCsvExporter(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    public long export(Collection<Long> regionIds, LocalDateTime from, LocalDateTime to, OutputStream output)
+            throws SQLException, IOException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            return connection.unwrap(PGConnection.class).getCopyAPI().copyOut(copySql(regionIds, from, to), output);
+        }
+    }
+
+    private static String copySql(Collection<Long> regionIds, LocalDateTime from, LocalDateTime to) {
+        StringBuilder query = new StringBuilder("SELECT ").append(CSV_COLUMNS)
+                .append(" FROM weather_data WHERE region_id IN (")
+                .append(regionIds.stream().map(id -> Long.toString(id)).collect(Collectors.joining(",")))
+                .append(')');
+        if (from != null) {
+            query.append(" AND measurement_date_time >= '").append(from).append("'::timestamp");
+        }
+        if (to != null) {
+            query.append(" AND measurement_date_time <= '").append(to).append("'::timestamp");
+        }
+        query.append(" ORDER BY region_id, measurement_date_time, id");
+        return "COPY (" + query + ") TO STDOUT WITH (FORMAT csv, HEADER)";
+    }
+}
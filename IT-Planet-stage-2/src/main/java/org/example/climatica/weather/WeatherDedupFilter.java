@@ -0,0 +1,67 @@
+package org.example.climatica.weather;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * (region, measurement time) keys of observations stored recently, kept in two generations that rotate every half
+ * window or when the current one fills up. A hit means the observation is known to exist and can be rejected without
+ * a query; a miss proves nothing, so callers still check the database, and the unique key on weather_data remains the
+ * final guard.
+ */
+@Component
+public class WeatherDedupFilter {
+
+    private final long halfWindowNanos;
+    private final int maxKeysPerGeneration;
+    private volatile Set<ObservationKey> current = ConcurrentHashMap.newKeySet();
+    private volatile Set<ObservationKey> previous = ConcurrentHashMap.newKeySet();
+    private volatile long rotatedAt = System.nanoTime();
+
+    public WeatherDedupFilter(@Value("${weather.dedup.window:PT1H}") Duration window,
+                              @Value("${weather.dedup.max-keys:200000}") int maxKeys) {
+        this.halfWindowNanos = window.toNanos() / 2;
+        this.maxKeysPerGeneration = Math.max(1, maxKeys / 2);
+    }
+
+    public boolean mightContain(Long regionId, LocalDateTime measurementDateTime) {
+        ObservationKey key = new ObservationKey(regionId, measurementDateTime);
+        return current.contains(key) || previous.contains(key);
+    }
+
+    public void remember(Long regionId, LocalDateTime measurementDateTime) {
+        if (regionId == null || measurementDateTime == null) {
+            return;
+        }
+        rotateIfDue();
+        current.add(new ObservationKey(regionId, measurementDateTime));
+    }
+
+    public void forget(Long regionId, LocalDateTime measurementDateTime) {
+        ObservationKey key = new ObservationKey(regionId, measurementDateTime);
+        current.remove(key);
+        previous.remove(key);
+    }
+
+    private void rotateIfDue() {
+        if (System.nanoTime() - rotatedAt < halfWindowNanos && current.size() < maxKeysPerGeneration) {
+            return;
+        }
+        synchronized (this) {
+            if (System.nanoTime() - rotatedAt < halfWindowNanos && current.size() < maxKeysPerGeneration) {
+                return;
+            }
+            previous = current;
+            current = ConcurrentHashMap.newKeySet();
+            rotatedAt = System.nanoTime();
+        }
+    }
+
+    record ObservationKey(Long regionId, LocalDateTime measurementDateTime) {
+    }
+}
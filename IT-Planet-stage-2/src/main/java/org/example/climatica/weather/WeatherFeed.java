@@ -0,0 +1,158 @@
+package org.example.climatica.weather;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes committed weather observations to Server-Sent Event subscribers. Publishing only enqueues: every subscriber
+ * owns a bounded queue drained on its own virtual thread, so a slow client loses its oldest pending updates instead
+ * of stalling ingestion or other subscribers.
+ */
+@Component
+public class WeatherFeed {
+
+    private static final String EVENT_NAME = "weather";
+
+    private final ConcurrentHashMap<Long, Set<Subscriber>> subscribersByRegion = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final Counter dropped;
+
+    public WeatherFeed(MeterRegistry meterRegistry,
+                       @Value("${weather.feed.queue-capacity:256}") int queueCapacity,
+                       @Value("${weather.feed.timeout:PT30M}") Duration timeout) {
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.dropped = Counter.builder("weather.feed.dropped")
+                .description("Updates discarded because a subscriber queue was full")
+                .register(meterRegistry);
+        Gauge.builder("weather.feed.subscribers", subscribers, Set::size)
+                .register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Set<Long> regionIds) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, regionIds);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        for (Long regionId : regionIds) {
+            subscribersByRegion.compute(regionId, (id, regionSubscribers) -> {
+                Set<Subscriber> result = regionSubscribers != null ? regionSubscribers : ConcurrentHashMap.newKeySet();
+                result.add(subscriber);
+                return result;
+            });
+        }
+        return emitter;
+    }
+
+    public void publish(Long regionId, WeatherDataResponse update) {
+        Set<Subscriber> regionSubscribers = subscribersByRegion.get(regionId);
+        if (regionSubscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : regionSubscribers) {
+            subscriber.enqueue(update);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${weather.feed.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.requestHeartbeat();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        for (Long regionId : subscriber.regionIds) {
+            subscribersByRegion.computeIfPresent(regionId, (id, regionSubscribers) -> {
+                regionSubscribers.remove(subscriber);
+                return regionSubscribers.isEmpty() ? null : regionSubscribers;
+            });
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final Set<Long> regionIds;
+        private final ArrayBlockingQueue<WeatherDataResponse> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean heartbeatDue = new AtomicBoolean();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter, Set<Long> regionIds) {
+            this.emitter = emitter;
+            this.regionIds = regionIds;
+        }
+
+        void enqueue(WeatherDataResponse update) {
+            while (!queue.offer(update)) {
+                if (queue.poll() != null) {
+                    dropped.increment();
+                }
+            }
+            scheduleDrain();
+        }
+
+        void requestHeartbeat() {
+            heartbeatDue.set(true);
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    if (heartbeatDue.getAndSet(false)) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    }
+                    WeatherDataResponse update;
+                    while ((update = queue.poll()) != null) {
+                        emitter.send(SseEmitter.event()
+                                .name(EVENT_NAME)
+                                .id(update.getId() + "-" + update.getVersion())
+                                .data(update, MediaType.APPLICATION_JSON));
+                    }
+                    draining.set(false);
+                } while ((!queue.isEmpty() || heartbeatDue.get()) && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                unsubscribe(this);
+            }
+        }
+    }
+}
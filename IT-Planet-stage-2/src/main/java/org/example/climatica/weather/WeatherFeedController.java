@@ -0,0 +1,54 @@
+package org.example.climatica.weather;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@Tag(name = "Weather Feed Controller", description = "API for live weather updates")
+@RequestMapping("/region/weather/feed")
+public class WeatherFeedController {
+
+    private final WeatherFeed weatherFeed;
+    private final int maxRegions;
+
+    public WeatherFeedController(WeatherFeed weatherFeed,
+                                 @Value("${weather.feed.max-regions-per-subscriber:1000}") int maxRegions) {
+        this.weatherFeed = weatherFeed;
+        this.maxRegions = maxRegions;
+    }
+
+    @Operation(summary = "Subscribe to weather updates for a set of regions",
+            description = "Opens a Server-Sent Events stream. Every committed create or update of weather data for one of " +
+                    "the regions is pushed as a \"weather\" event; no snapshot is sent on connect. A client that falls " +
+                    "behind loses its oldest pending updates.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Stream opened", content = @Content(schema = @Schema(implementation = WeatherDataResponse.class))),
+                    @ApiResponse(responseCode = "400", description = "Missing, invalid or too many region IDs"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access")
+            })
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@RequestParam List<Long> regionIds) {
+        Set<Long> uniqueIds = new LinkedHashSet<>(regionIds);
+        if (uniqueIds.isEmpty() || uniqueIds.size() > maxRegions
+                || uniqueIds.stream().anyMatch(id -> id == null || id <= 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(weatherFeed.subscribe(uniqueIds));
+    }
+}
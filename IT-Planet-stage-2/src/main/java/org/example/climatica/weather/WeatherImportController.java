@@ -0,0 +1,76 @@
+package org.example.climatica.weather;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.climatica.weather.dto.WeatherImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+@RestController
+@Tag(name = "Weather Import Controller", description = "API for bulk import of historical weather data")
+@RequestMapping("/region/weather/import")
+public class WeatherImportController {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherImportController.class);
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final String NDJSON_VALUE = "application/x-ndjson";
+
+    private final WeatherImporter weatherImporter;
+
+    public WeatherImportController(WeatherImporter weatherImporter) {
+        this.weatherImporter = weatherImporter;
+    }
+
+    @Operation(summary = "Import historical weather data",
+            description = "Accepts a CSV file with a header row (the format of /region/weather/export/csv) or one JSON " +
+                    "observation per line. Rows are validated like single creates; invalid rows and rows of unknown " +
+                    "regions are rejected and reported by line number, observations that already exist are skipped. " +
+                    "All accepted rows are stored in one transaction. The body may be sent with Content-Encoding: gzip.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Import finished", content = @Content(schema = @Schema(implementation = WeatherImportReport.class))),
+                    @ApiResponse(responseCode = "400", description = "Unreadable body or CSV header without the required columns"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access"),
+                    @ApiResponse(responseCode = "409", description = "Another import is in progress"),
+                    @ApiResponse(responseCode = "500", description = "The database rejected or aborted the import")
+            })
+    @PostMapping(consumes = {TEXT_CSV_VALUE, NDJSON_VALUE}, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> importWeather(InputStream body,
+                                           @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                           @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding) {
+        boolean ndjson = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType(NDJSON_VALUE));
+        InputStream input;
+        try {
+            input = "gzip".equalsIgnoreCase(contentEncoding) ? new GZIPInputStream(body) : body;
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body("Unreadable gzip body: " + e.getMessage());
+        }
+        try {
+            Optional<WeatherImportReport> report = weatherImporter.importObservations(input, ndjson);
+            return report.<ResponseEntity<?>>map(ResponseEntity::ok)
+                    .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IOException | SQLException e) {
+            // Body read errors arrive as IllegalArgumentException; an IOException here comes from the COPY stream.
+            log.error("Weather import failed", e);
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
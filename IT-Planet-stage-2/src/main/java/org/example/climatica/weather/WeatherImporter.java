@@ -0,0 +1,263 @@
+package org.example.climatica.weather;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.example.climatica.region.RegionRepository;
+import org.example.climatica.weather.dto.WeatherBatchResponse;
+import org.example.climatica.weather.dto.WeatherDataCreateRequest;
+import org.example.climatica.weather.dto.WeatherImportReport;
+import org.example.climatica.weather_aggregate.WeatherAggregateRepository;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Bulk import of historical observations. One streaming pass parses CSV or NDJSON lines, applies the request
+ * validation rules and the region existence check against a preloaded id set, and copies accepted rows into a
+ * temporary staging table with {@code COPY FROM STDIN}. A single statement then moves them into weather_data,
+ * skipping keys that already exist, and folds the inserted rows into the hourly and daily aggregates.
+ */
+@Component
+public class WeatherImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherImporter.class);
+
+    private static final String[] CSV_COLUMNS = {"region_id", "measurement_date_time", "temperature", "humidity",
+            "wind_speed", "weather_condition", "precipitation_amount"};
+    private static final String CREATE_STAGING_SQL = "CREATE TEMP TABLE weather_import_staging (region_id bigint, " +
+            "measurement_date_time timestamp, temperature real, humidity real, wind_speed real, " +
+            "weather_condition varchar(255), precipitation_amount real) ON COMMIT DROP";
+    private static final String COPY_SQL = "COPY weather_import_staging (region_id, measurement_date_time, temperature, " +
+            "humidity, wind_speed, weather_condition, precipitation_amount) FROM STDIN WITH (FORMAT csv)";
+    // Each row takes a whole block of the pooled sequence, so its id never overlaps a range Hibernate hands out.
+    private static final String MERGE_SQL = "WITH inserted AS (" +
+            "INSERT INTO weather_data (id, region_id, measurement_date_time, temperature, humidity, wind_speed, " +
+            "weather_condition, precipitation_amount, version, last_modified) " +
+            "SELECT nextval('weather_data_seq'), region_id, measurement_date_time, temperature, humidity, wind_speed, " +
+            "weather_condition, precipitation_amount, 0, now() FROM weather_import_staging " +
+            "ON CONFLICT (region_id, measurement_date_time) DO NOTHING " +
+            "RETURNING region_id, measurement_date_time, temperature, humidity, wind_speed, precipitation_amount), " +
+            "aggregated AS (" + WeatherAggregateRepository.INSERT_INTO +
+            "SELECT region_id, p.period, date_trunc(p.unit, measurement_date_time), " + WeatherAggregateRepository.BUCKET_AGGREGATES +
+            "FROM inserted CROSS JOIN (VALUES ('HOUR', 'hour'), ('DAY', 'day')) AS p(period, unit) " +
+            "GROUP BY region_id, p.period, date_trunc(p.unit, measurement_date_time) " +
+            WeatherAggregateRepository.ON_CONFLICT_ADD + ") " +
+            "SELECT COUNT(*) FROM inserted";
+    private static final int IO_BUFFER_SIZE = 1 << 16;
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final DataSource dataSource;
+    private final RegionRepository regionRepository;
+    private final LatestWeatherCache latestWeatherCache;
+    private final WeatherSeriesStore weatherSeriesStore;
+    private final WeatherMetrics weatherMetrics;
+    private final ObjectReader jsonReader;
+    private final long progressInterval;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public WeatherImporter(DataSource dataSource, RegionRepository regionRepository, LatestWeatherCache latestWeatherCache,
+                           WeatherSeriesStore weatherSeriesStore, WeatherMetrics weatherMetrics, ObjectMapper objectMapper,
+                           @Value("${weather.import.progress-interval:100000}") long progressInterval) {
+        this.dataSource = dataSource;
+        this.regionRepository = regionRepository;
+        this.latestWeatherCache = latestWeatherCache;
+        this.weatherSeriesStore = weatherSeriesStore;
+        this.weatherMetrics = weatherMetrics;
+        this.jsonReader = objectMapper.readerFor(WeatherDataCreateRequest.class);
+        this.progressInterval = progressInterval;
+    }
+
+    /**
+     * Imports all rows of {@code input} in one transaction. Returns empty when another import is in progress.
+     */
+    public Optional<WeatherImportReport> importObservations(InputStream input, boolean ndjson) throws IOException, SQLException {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(runImport(input, ndjson));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private WeatherImportReport runImport(InputStream input, boolean ndjson) throws IOException, SQLException {
+        long started = System.nanoTime();
+        long[] regionIds = regionRepository.findAllIdsOrdered().stream().mapToLong(Long::longValue).toArray();
+        WeatherImportReport report = new WeatherImportReport();
+        Set<Long> touchedRegions = new HashSet<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(CREATE_STAGING_SQL);
+                }
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, UTF_8), IO_BUFFER_SIZE);
+                     Writer staging = new OutputStreamWriter(
+                             new PGCopyOutputStream(connection.unwrap(PGConnection.class), COPY_SQL, IO_BUFFER_SIZE), UTF_8)) {
+                    stage(reader, ndjson, regionIds, staging, report, touchedRegions, started);
+                }
+                try (Statement statement = connection.createStatement();
+                     ResultSet inserted = statement.executeQuery(MERGE_SQL)) {
+                    inserted.next();
+                    report.setRowsImported(inserted.getLong(1));
+                }
+                connection.commit();
+            } catch (IOException | SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+
+        for (Long regionId : touchedRegions) {
+            latestWeatherCache.evict(regionId);
+            weatherSeriesStore.invalidate(regionId);
+        }
+        weatherMetrics.recordIngested(WeatherMetrics.SOURCE_IMPORT, Math.toIntExact(report.getRowsImported()));
+        report.setDuplicates(report.getRowsStaged() - report.getRowsImported());
+        report.setElapsedMillis((System.nanoTime() - started) / 1_000_000);
+        report.setRowsPerSecond(report.getRowsRead() * 1000 / Math.max(1, report.getElapsedMillis()));
+        log.info("Weather import finished: read={} imported={} duplicates={} rejected={} elapsed_ms={} rows_per_second={}",
+                report.getRowsRead(), report.getRowsImported(), report.getDuplicates(), report.getRowsRejected(),
+                report.getElapsedMillis(), report.getRowsPerSecond());
+        return report;
+    }
+
+    private void stage(BufferedReader reader, boolean ndjson, long[] regionIds, Writer staging, WeatherImportReport report,
+                       Set<Long> touchedRegions, long started) throws IOException {
+        int[] columns = null;
+        StringBuilder row = new StringBuilder(128);
+        long lineNumber = 0;
+        String line;
+        while ((line = readLine(reader)) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!ndjson && columns == null) {
+                columns = csvColumns(line);
+                continue;
+            }
+            report.setRowsRead(report.getRowsRead() + 1);
+
+            WeatherDataCreateRequest request;
+            try {
+                request = ndjson ? jsonReader.readValue(line) : parseCsv(line, columns);
+            } catch (IOException | RuntimeException e) {
+                request = null;
+            }
+            if (request == null) {
+                reject(report, lineNumber, "Malformed row");
+            } else if (!WeatherValidation.isValid(request)) {
+                weatherMetrics.recordValidationFailure();
+                reject(report, lineNumber, "Invalid parameters provided");
+            } else if (Arrays.binarySearch(regionIds, request.getRegionId()) < 0) {
+                reject(report, lineNumber, "Region with ID: " + request.getRegionId() + " not found");
+            } else {
+                row.setLength(0);
+                row.append(request.getRegionId()).append(',')
+                        .append(request.getMeasurementDateTime()).append(',')
+                        .append(request.getTemperature()).append(',')
+                        .append(request.getHumidity()).append(',')
+                        .append(request.getWindSpeed()).append(',')
+                        .append(request.getWeatherCondition()).append(',')
+                        .append(request.getPrecipitationAmount()).append('\n');
+                staging.append(row);
+                touchedRegions.add(request.getRegionId());
+                report.setRowsStaged(report.getRowsStaged() + 1);
+            }
+
+            if (report.getRowsRead() % progressInterval == 0) {
+                long elapsedMillis = Math.max(1, (System.nanoTime() - started) / 1_000_000);
+                log.info("Weather import progress: read={} staged={} rejected={} rows_per_second={}",
+                        report.getRowsRead(), report.getRowsStaged(), report.getRowsRejected(),
+                        report.getRowsRead() * 1000 / elapsedMillis);
+            }
+        }
+    }
+
+    // The upload is the only input read here; its failures are the client's, unlike IOExceptions of the COPY stream.
+    private static String readLine(BufferedReader reader) {
+        try {
+            return reader.readLine();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unreadable request body: " + e.getMessage(), e);
+        }
+    }
+
+    private static void reject(WeatherImportReport report, long lineNumber, String message) {
+        report.setRowsRejected(report.getRowsRejected() + 1);
+        if (report.getErrors().size() < MAX_REPORTED_ERRORS) {
+            report.getErrors().add(new WeatherBatchResponse.RowError((int) Math.min(lineNumber, Integer.MAX_VALUE), message));
+        }
+    }
+
+    static int[] csvColumns(String header) {
+        String[] names = header.split(",", -1);
+        for (int i = 0; i < names.length; i++) {
+            names[i] = unquote(names[i]).toLowerCase(Locale.ROOT);
+        }
+        int[] columns = new int[CSV_COLUMNS.length];
+        for (int i = 0; i < CSV_COLUMNS.length; i++) {
+            columns[i] = Arrays.asList(names).indexOf(CSV_COLUMNS[i]);
+            if (columns[i] < 0) {
+                throw new IllegalArgumentException("CSV header is missing column " + CSV_COLUMNS[i]);
+            }
+        }
+        return columns;
+    }
+
+    static WeatherDataCreateRequest parseCsv(String line, int[] columns) {
+        String[] fields = line.split(",", -1);
+        WeatherDataCreateRequest request = new WeatherDataCreateRequest();
+        request.setRegionId(Long.parseLong(unquote(fields[columns[0]])));
+        request.setMeasurementDateTime(parseDateTime(unquote(fields[columns[1]])));
+        request.setTemperature(Float.parseFloat(unquote(fields[columns[2]])));
+        request.setHumidity(Float.parseFloat(unquote(fields[columns[3]])));
+        request.setWindSpeed(Float.parseFloat(unquote(fields[columns[4]])));
+        request.setWeatherCondition(unquote(fields[columns[5]]));
+        request.setPrecipitationAmount(Float.parseFloat(unquote(fields[columns[6]])));
+        return request;
+    }
+
+    // Accepts ISO-8601 and PostgreSQL's "yyyy-MM-dd HH:mm:ss" output, so CSV exports can be imported unchanged.
+    private static LocalDateTime parseDateTime(String value) {
+        if (value.length() > 10 && value.charAt(10) == ' ') {
+            value = value.substring(0, 10) + 'T' + value.substring(11);
+        }
+        return LocalDateTime.parse(value);
+    }
+
+    private static String unquote(String field) {
+        String trimmed = field.trim();
+        if (trimmed.length() >= 2 && trimmed.charAt(0) == '"' && trimmed.charAt(trimmed.length() - 1) == '"') {
+            return trimmed.substring(1, trimmed.length() - 1);
+        }
+        return trimmed;
+    }
+}
@@ -0,0 +1,233 @@
+package org.example.climatica.weather;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.example.climatica.exception.DuplicateObservationException;
+import org.example.climatica.exception.NotFoundException;
+import org.example.climatica.weather.dto.WeatherBatchResponse;
+import org.example.climatica.weather.dto.WeatherDataCreateRequest;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Write-behind stage for single observations. Request threads only validate and enqueue into a bounded ring; one
+ * writer thread drains it and stores up to {@code batchSize} rows per transaction through
+ * {@link WeatherService#addWeatherBuffered}. Synchronous submissions complete once their batch has committed; if a
+ * batch fails, its rows are retried one by one so a single bad row does not fail the rest. Duplicates are not
+ * failures: they are answered with {@link DuplicateObservationException} and not counted.
+ */
+@Component
+public class WeatherIngestBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(WeatherIngestBuffer.class);
+
+    private final WeatherService weatherService;
+    private final IngestRingBuffer<PendingObservation> ring;
+    private final int batchSize;
+    private final long idleWaitNanos;
+    private final Duration shutdownTimeout;
+    private final Timer flushTimer;
+    private final Counter full;
+    private final Counter failed;
+    private final Counter restarts;
+    private volatile boolean closed;
+    private volatile Thread writer;
+
+    public WeatherIngestBuffer(WeatherService weatherService, MeterRegistry meterRegistry,
+                               @Value("${weather.ingest.capacity:8192}") int capacity,
+                               @Value("${weather.ingest.batch-size:500}") int batchSize,
+                               @Value("${weather.ingest.idle-wait:PT0.01S}") Duration idleWait,
+                               @Value("${weather.ingest.shutdown-timeout:PT30S}") Duration shutdownTimeout) {
+        this.weatherService = weatherService;
+        this.ring = new IngestRingBuffer<>(capacity);
+        this.batchSize = batchSize;
+        this.idleWaitNanos = idleWait.toNanos();
+        this.shutdownTimeout = shutdownTimeout;
+        this.flushTimer = Timer.builder("weather.ingest.flush")
+                .description("Time to store one drained batch of buffered observations")
+                .register(meterRegistry);
+        this.full = Counter.builder("weather.ingest.rejected")
+                .description("Observations refused because the ingestion buffer was full or closed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("weather.ingest.failed")
+                .description("Buffered observations that could not be stored")
+                .register(meterRegistry);
+        this.restarts = Counter.builder("weather.ingest.writer.restarts")
+                .description("Times the ingestion writer thread died and was restarted")
+                .register(meterRegistry);
+        Gauge.builder("weather.ingest.buffer.depth", ring, IngestRingBuffer::size)
+                .register(meterRegistry);
+        Gauge.builder("weather.ingest.buffer.capacity", ring, IngestRingBuffer::capacity)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        writer = Thread.ofPlatform()
+                .name("weather-ingest-writer")
+                .uncaughtExceptionHandler(this::writerDied)
+                .start(this::drainLoop);
+    }
+
+    /**
+     * Enqueues an observation whose result is awaited. Returns {@code null} when the buffer cannot take it.
+     */
+    public CompletableFuture<WeatherDataResponse> submit(WeatherDataCreateRequest request) {
+        CompletableFuture<WeatherDataResponse> stored = new CompletableFuture<>();
+        return enqueue(new PendingObservation(request, stored)) ? stored : null;
+    }
+
+    /**
+     * Enqueues an observation without waiting for it to be stored.
+     */
+    public boolean accept(WeatherDataCreateRequest request) {
+        return enqueue(new PendingObservation(request, null));
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        closed = true;
+        LockSupport.unpark(writer);
+        writer.join(shutdownTimeout.toMillis());
+        if (writer.isAlive()) {
+            log.warn("Ingestion writer did not drain within {}, {} observations left", shutdownTimeout, ring.size());
+            return;
+        }
+        List<PendingObservation> remaining = new ArrayList<>();
+        ring.drainTo(remaining, Integer.MAX_VALUE);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    private boolean enqueue(PendingObservation observation) {
+        if (closed || !ring.offer(observation)) {
+            full.increment();
+            return false;
+        }
+        LockSupport.unpark(writer);
+        return true;
+    }
+
+    private void drainLoop() {
+        List<PendingObservation> batch = new ArrayList<>(batchSize);
+        while (true) {
+            ring.drainTo(batch, batchSize);
+            if (!batch.isEmpty()) {
+                try {
+                    flush(batch);
+                } catch (Throwable e) {
+                    // flush() already retries RuntimeExceptions row by row; anything else must not stop the writer.
+                    log.error("Ingestion writer failed to store {} observations", batch.size(), e);
+                    for (PendingObservation observation : batch) {
+                        fail(observation, new IllegalStateException("Observation was not stored", e));
+                    }
+                } finally {
+                    batch.clear();
+                }
+            } else if (closed && ring.size() == 0) {
+                return;
+            } else if (closed) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, idleWaitNanos);
+            }
+        }
+    }
+
+    private void writerDied(Thread thread, Throwable cause) {
+        if (closed) {
+            log.error("Ingestion writer died during shutdown", cause);
+            return;
+        }
+        log.error("Ingestion writer died, restarting", cause);
+        restarts.increment();
+        start();
+    }
+
+    private void flush(List<PendingObservation> batch) {
+        Timer.Sample sample = Timer.start();
+        try {
+            store(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                fail(batch.get(0), e);
+            } else {
+                log.warn("Buffered batch of {} observations failed, retrying row by row", batch.size(), e);
+                for (PendingObservation observation : batch) {
+                    try {
+                        store(List.of(observation));
+                    } catch (RuntimeException rowFailure) {
+                        fail(observation, rowFailure);
+                    }
+                }
+            }
+        } finally {
+            sample.stop(flushTimer);
+        }
+    }
+
+    private void store(List<PendingObservation> batch) {
+        Map<Integer, WeatherDataCreateRequest> requests = new LinkedHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            requests.put(i, batch.get(i).request());
+        }
+        WeatherBatchResponse response = new WeatherBatchResponse();
+        Map<Integer, WeatherDataResponse> stored = weatherService.addWeatherBuffered(requests, response);
+        Map<Integer, String> errors = new HashMap<>();
+        for (WeatherBatchResponse.RowError error : response.getErrors()) {
+            errors.put(error.getIndex(), error.getMessage());
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            PendingObservation observation = batch.get(i);
+            WeatherDataResponse result = stored.get(i);
+            String error = errors.getOrDefault(i, "Observation was not stored");
+            if (result != null) {
+                observation.complete(result);
+            } else if (WeatherBatchResponse.DUPLICATE_MESSAGE.equals(error)) {
+                observation.reject(new DuplicateObservationException(error));
+            } else {
+                fail(observation, new NotFoundException(error));
+            }
+        }
+    }
+
+    private void fail(PendingObservation observation, RuntimeException cause) {
+        failed.increment();
+        if (observation.stored() == null) {
+            log.warn("Dropped buffered observation for region {}: {}", observation.request().getRegionId(), cause.getMessage());
+            return;
+        }
+        observation.stored().completeExceptionally(cause);
+    }
+
+    private record PendingObservation(WeatherDataCreateRequest request, CompletableFuture<WeatherDataResponse> stored) {
+        void complete(WeatherDataResponse result) {
+            if (stored != null) {
+                stored.complete(result);
+            }
+        }
+
+        void reject(RuntimeException cause) {
+            if (stored != null) {
+                stored.completeExceptionally(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.example.climatica.weather;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+@Component
+public class WeatherMetrics {
+
+    static final String SOURCE_SINGLE = "single";
+    static final String SOURCE_BATCH = "batch";
+    static final String SOURCE_IMPORT = "import";
+
+    private final Counter ingestedSingle;
+    private final Counter ingestedBatch;
+    private final Counter ingestedImport;
+    private final Counter validationFailures;
+
+    public WeatherMetrics(MeterRegistry meterRegistry) {
+        this.ingestedSingle = ingestedCounter(meterRegistry, SOURCE_SINGLE);
+        this.ingestedBatch = ingestedCounter(meterRegistry, SOURCE_BATCH);
+        this.ingestedImport = ingestedCounter(meterRegistry, SOURCE_IMPORT);
+        this.validationFailures = Counter.builder("weather.validation.failures")
+                .description("Weather observations rejected by request validation")
+                .register(meterRegistry);
+    }
+
+    public void recordIngested(String source, int count) {
+        Counter counter = switch (source) {
+            case SOURCE_BATCH -> ingestedBatch;
+            case SOURCE_IMPORT -> ingestedImport;
+            default -> ingestedSingle;
+        };
+        counter.increment(count);
+    }
+
+    public void recordValidationFailure() {
+        validationFailures.increment();
+    }
+
+    private static Counter ingestedCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("weather.ingested")
+                .description("Weather observations stored")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+}
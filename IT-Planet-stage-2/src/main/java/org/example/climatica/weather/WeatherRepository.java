@@ -1,24 +1,45 @@
 package org.example.climatica.weather;
 
-import org.example.climatica.model.WeatherCondition;
 import org.example.climatica.model.WeatherData;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
-import org.springframework.data.domain.Pageable;
+public interface WeatherRepository extends JpaRepository<WeatherData, Long>, JpaSpecificationExecutor<WeatherData>,
+        WeatherResponseRepository {
+
+    @Query("SELECT w FROM WeatherData w WHERE w.region.id = :regionId " +
+            "ORDER BY w.measurementDateTime DESC NULLS LAST, w.id DESC")
+    List<WeatherData> findLatestByRegionId(@Param("regionId") Long regionId, Pageable pageable);
+
+    @Query(value = "SELECT DISTINCT ON (region_id) id FROM weather_data WHERE region_id IN (:regionIds) " +
+            "ORDER BY region_id, measurement_date_time DESC NULLS LAST, id DESC",
+            nativeQuery = true)
+    List<Long> findLatestIdsByRegionIdIn(@Param("regionIds") Collection<Long> regionIds);
+
+    @Query("SELECT w.id, w.measurementDateTime, w.temperature, w.humidity, w.windSpeed, w.precipitationAmount, w.weatherCondition " +
+            "FROM WeatherData w WHERE w.region.id = :regionId AND w.measurementDateTime >= :from AND w.measurementDateTime <= :to " +
+            "ORDER BY w.measurementDateTime, w.id")
+    List<Object[]> findSeriesRows(@Param("regionId") Long regionId, @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 
-public interface WeatherRepository extends JpaRepository<WeatherData, Long> {
-    Optional<WeatherData> findByRegionId(Long regionId);
+    @Query("SELECT w.region.id, w.measurementDateTime FROM WeatherData w " +
+            "WHERE w.region.id IN :regionIds AND w.measurementDateTime IN :times")
+    List<Object[]> findObservationKeys(@Param("regionIds") Collection<Long> regionIds, @Param("times") Collection<LocalDateTime> times);
 
-    Page<WeatherData> findByRegionIdAndMeasurementDateTimeBetweenAndWeatherCondition(
-            Long regionId,
-            LocalDateTime startDateTime,
-            LocalDateTime endDateTime,
-            WeatherCondition weatherCondition,
-            Pageable pageable
-    );
+    @Query("SELECT COUNT(w) > 0 FROM WeatherData w WHERE w.region.id = :regionId " +
+            "AND w.measurementDateTime = :measurementDateTime AND w.id <> :id")
+    boolean existsOtherObservation(@Param("regionId") Long regionId, @Param("measurementDateTime") LocalDateTime measurementDateTime,
+                                   @Param("id") Long id);
 
+    default Optional<WeatherData> findLatestByRegionId(Long regionId) {
+        return findLatestByRegionId(regionId, PageRequest.of(0, 1)).stream().findFirst();
+    }
 }
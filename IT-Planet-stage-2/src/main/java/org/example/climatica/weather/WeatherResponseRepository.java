@@ -0,0 +1,19 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.model.WeatherData;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface WeatherResponseRepository {
+
+    List<WeatherDataResponse> findResponses(Specification<WeatherData> specification, Sort sort, long offset, int limit);
+
+    long streamResponses(Specification<WeatherData> specification, Sort sort, Consumer<WeatherDataResponse> consumer);
+
+    List<WeatherDataResponse> findResponsesByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,159 @@
+package org.example.climatica.weather;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.example.climatica.model.Region;
+import org.example.climatica.model.WeatherCondition;
+import org.example.climatica.model.WeatherData;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Builds {@link WeatherDataResponse} rows from a scalar projection joined with the region name, then fills forecast
+ * ids with one batched query, so a page costs two statements whatever its size. Streamed exports read the same
+ * projection through a cursor and resolve forecast ids per chunk, so only one chunk of rows is held at a time.
+ */
+class WeatherResponseRepositoryImpl implements WeatherResponseRepository {
+
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${weather.export.fetch-size:1000}")
+    private int exportFetchSize;
+
+    @Override
+    public List<WeatherDataResponse> findResponses(Specification<WeatherData> specification, Sort sort, long offset, int limit) {
+        List<Tuple> rows = responseQuery(specification, sort)
+                .setFirstResult(Math.toIntExact(offset))
+                .setMaxResults(limit)
+                .getResultList();
+        List<WeatherDataResponse> responses = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            responses.add(toResponse(row));
+        }
+        fillForecasts(responses);
+        return responses;
+    }
+
+    @Override
+    public long streamResponses(Specification<WeatherData> specification, Sort sort, Consumer<WeatherDataResponse> consumer) {
+        List<WeatherDataResponse> chunk = new ArrayList<>(IN_CLAUSE_CHUNK_SIZE);
+        long count = 0;
+        try (Stream<Tuple> rows = responseQuery(specification, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, exportFetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()) {
+            Iterator<Tuple> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(toResponse(iterator.next()));
+                if (chunk.size() == IN_CLAUSE_CHUNK_SIZE) {
+                    count += emit(chunk, consumer);
+                }
+            }
+        }
+        return count + emit(chunk, consumer);
+    }
+
+    @Override
+    public List<WeatherDataResponse> findResponsesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Specification<WeatherData> idIn = (root, query, cb) -> root.get("id").in(ids);
+        return findResponses(idIn, Sort.by("id"), 0, ids.size());
+    }
+
+    private TypedQuery<Tuple> responseQuery(Specification<WeatherData> specification, Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<WeatherData> root = query.from(WeatherData.class);
+        Join<WeatherData, Region> region = root.join("region", JoinType.LEFT);
+        query.multiselect(
+                root.get("id"),
+                region.get("id"),
+                region.get("name"),
+                root.get("temperature"),
+                root.get("humidity"),
+                root.get("windSpeed"),
+                root.get("weatherCondition"),
+                root.get("precipitationAmount"),
+                root.get("measurementDateTime"),
+                root.get("version"),
+                root.get("lastModified"));
+        Predicate predicate = specification != null ? specification.toPredicate(root, query, cb) : null;
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    private int emit(List<WeatherDataResponse> chunk, Consumer<WeatherDataResponse> consumer) {
+        int size = chunk.size();
+        fillForecasts(chunk);
+        chunk.forEach(consumer);
+        chunk.clear();
+        return size;
+    }
+
+    private void fillForecasts(List<WeatherDataResponse> responses) {
+        Map<Long, WeatherDataResponse> byId = new HashMap<>();
+        for (WeatherDataResponse response : responses) {
+            byId.put(response.getId(), response);
+        }
+        List<Long> ids = new ArrayList<>(byId.keySet());
+        for (int from = 0; from < ids.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, ids.size()));
+            List<Object[]> forecastRows = entityManager.createQuery(
+                            "SELECT w.id, f FROM WeatherData w JOIN w.weatherForecast f WHERE w.id IN :ids", Object[].class)
+                    .setParameter("ids", chunk)
+                    .getResultList();
+            for (Object[] forecastRow : forecastRows) {
+                byId.get((Long) forecastRow[0]).getWeatherForecast().add((Long) forecastRow[1]);
+            }
+        }
+    }
+
+    private static WeatherDataResponse toResponse(Tuple row) {
+        WeatherDataResponse response = new WeatherDataResponse();
+        response.setId(row.get(0, Long.class));
+        response.setRegionId(row.get(1, Long.class));
+        String regionName = row.get(2, String.class);
+        response.setRegionName(regionName != null ? regionName : "Unknown Region");
+        response.setTemperature(row.get(3, Float.class));
+        response.setHumidity(row.get(4, Float.class));
+        response.setWindSpeed(row.get(5, Float.class));
+        response.setWeatherCondition(row.get(6, WeatherCondition.class).toString());
+        response.setPrecipitationAmount(row.get(7, Float.class));
+        response.setMeasurementDateTime(row.get(8, LocalDateTime.class));
+        response.setVersion(row.get(9, Long.class));
+        response.setLastModified(row.get(10, Instant.class));
+        response.setWeatherForecast(new ArrayList<>());
+        return response;
+    }
+}
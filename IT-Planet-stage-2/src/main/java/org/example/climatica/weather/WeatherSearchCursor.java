@@ -0,0 +1,32 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.weather.dto.WeatherDataResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+record WeatherSearchCursor(LocalDateTime measurementDateTime, Long id) {
+
+    static WeatherSearchCursor of(WeatherDataResponse weatherData) {
+        return new WeatherSearchCursor(weatherData.getMeasurementDateTime(), weatherData.getId());
+    }
+
+    static WeatherSearchCursor decode(String token) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            return new WeatherSearchCursor(
+                    LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor.");
+        }
+    }
+
+    String encode() {
+        String raw = measurementDateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,350 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.model.WeatherCondition;
+import org.example.climatica.region.RegionRepository;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.example.climatica.weather.dto.WeatherSeriesDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Recent observations per region kept column-wise in primitive arrays (struct of arrays). A region is loaded from
+ * the database on its first read and then kept current from the ingestion path; writes that change or remove
+ * existing rows drop the region so it is reloaded. Ranges older than the retention window fall back to the
+ * database. Timestamps are {@code measurementDateTime} in seconds since 1970-01-01T00:00 (no zone).
+ * <p>
+ * At most {@code max-regions} regions are kept; beyond that the least recently read one is dropped. Regions that
+ * do not exist are never cached.
+ */
+@Component
+public class WeatherSeriesStore {
+
+    static final LocalDateTime OPEN_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final WeatherCondition[] CONDITIONS = WeatherCondition.values();
+
+    private final WeatherRepository weatherRepository;
+    private final RegionRepository regionRepository;
+    private final Duration retention;
+    private final int maxPointsPerRegion;
+    private final int maxRegions;
+    private final ConcurrentHashMap<Long, RegionSeries> series = new ConcurrentHashMap<>();
+    private final AtomicLong readClock = new AtomicLong();
+
+    public WeatherSeriesStore(WeatherRepository weatherRepository, RegionRepository regionRepository,
+                              @Value("${weather.series-store.retention:P7D}") Duration retention,
+                              @Value("${weather.series-store.max-points-per-region:20000}") int maxPointsPerRegion,
+                              @Value("${weather.series-store.max-regions:1000}") int maxRegions) {
+        this.weatherRepository = weatherRepository;
+        this.regionRepository = regionRepository;
+        this.retention = retention;
+        this.maxPointsPerRegion = maxPointsPerRegion;
+        this.maxRegions = maxRegions;
+    }
+
+    public WeatherSeriesDto read(Long regionId, LocalDateTime from, LocalDateTime to) {
+        long fromSeconds = toEpochSecond(from);
+        long toSeconds = toEpochSecond(to != null ? to : OPEN_END);
+        long cutoff = cutoff();
+        if (fromSeconds >= cutoff) {
+            RegionSeries regionSeries = cached(regionId, cutoff);
+            WeatherSeriesDto slice = regionSeries != null ? regionSeries.slice(regionId, fromSeconds, toSeconds) : null;
+            if (slice != null) {
+                return slice;
+            }
+        }
+        return toSeries(regionId, weatherRepository.findSeriesRows(regionId, from, to != null ? to : OPEN_END));
+    }
+
+    public void offer(Long regionId, WeatherDataResponse observation) {
+        if (observation.getMeasurementDateTime() == null) {
+            return;
+        }
+        long cutoff = cutoff();
+        series.computeIfPresent(regionId, (id, regionSeries) -> {
+            regionSeries.insert(observation.getId(), toEpochSecond(observation.getMeasurementDateTime()),
+                    observation.getTemperature(), observation.getHumidity(), observation.getWindSpeed(),
+                    observation.getPrecipitationAmount(),
+                    (byte) WeatherCondition.valueOf(observation.getWeatherCondition()).ordinal());
+            regionSeries.trim(cutoff, maxPointsPerRegion);
+            return regionSeries;
+        });
+    }
+
+    public void invalidate(Long regionId) {
+        series.remove(regionId);
+    }
+
+    /**
+     * Returns the cached series, loading it if absent. Returns {@code null} when the caller should read from the
+     * database instead: the region is unknown, another thread is still loading it, or it was invalidated meanwhile.
+     */
+    private RegionSeries cached(Long regionId, long cutoff) {
+        RegionSeries regionSeries = series.get(regionId);
+        if (regionSeries == null) {
+            RegionSeries loading = new RegionSeries(cutoff, 16);
+            regionSeries = series.putIfAbsent(regionId, loading);
+            if (regionSeries == null) {
+                regionSeries = load(regionId, loading, cutoff);
+            }
+        }
+        if (regionSeries == null || !regionSeries.ready) {
+            return null;
+        }
+        regionSeries.lastRead = readClock.incrementAndGet();
+        return regionSeries;
+    }
+
+    // The placeholder is published before the query runs, so observations committed meanwhile are offered into it
+    // instead of being lost; an invalidation meanwhile removes it and the loaded rows are not kept.
+    private RegionSeries load(Long regionId, RegionSeries loading, long cutoff) {
+        List<Object[]> rows;
+        try {
+            rows = weatherRepository.findSeriesRows(regionId, fromEpochSecond(cutoff), OPEN_END);
+            if (rows.isEmpty() && !regionRepository.existsById(regionId)) {
+                series.remove(regionId, loading);
+                return null;
+            }
+        } catch (RuntimeException e) {
+            series.remove(regionId, loading);
+            throw e;
+        }
+        for (Object[] row : rows) {
+            loading.insert((Long) row[0], toEpochSecond((LocalDateTime) row[1]), (Float) row[2], (Float) row[3],
+                    (Float) row[4], (Float) row[5], (byte) ((WeatherCondition) row[6]).ordinal());
+        }
+        loading.trim(cutoff, maxPointsPerRegion);
+        loading.lastRead = readClock.incrementAndGet();
+        loading.ready = true;
+        if (series.get(regionId) != loading) {
+            return null;
+        }
+        evictLeastRecentlyRead();
+        return loading;
+    }
+
+    private void evictLeastRecentlyRead() {
+        while (series.size() > maxRegions) {
+            Map.Entry<Long, RegionSeries> eldest = null;
+            for (Map.Entry<Long, RegionSeries> entry : series.entrySet()) {
+                RegionSeries candidate = entry.getValue();
+                if (candidate.ready && (eldest == null || candidate.lastRead < eldest.getValue().lastRead)) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null) {
+                return;
+            }
+            series.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static WeatherSeriesDto toSeries(Long regionId, List<Object[]> rows) {
+        int size = rows.size();
+        long[] times = new long[size];
+        float[] temperature = new float[size];
+        float[] humidity = new float[size];
+        float[] windSpeed = new float[size];
+        float[] precipitation = new float[size];
+        WeatherCondition[] conditions = new WeatherCondition[size];
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            times[i] = toEpochSecond((LocalDateTime) row[1]);
+            temperature[i] = (Float) row[2];
+            humidity[i] = (Float) row[3];
+            windSpeed[i] = (Float) row[4];
+            precipitation[i] = (Float) row[5];
+            conditions[i] = (WeatherCondition) row[6];
+        }
+        return new WeatherSeriesDto(regionId, times, temperature, humidity, windSpeed, precipitation, conditions);
+    }
+
+    private long cutoff() {
+        return toEpochSecond(LocalDateTime.now().minus(retention));
+    }
+
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime fromEpochSecond(long epochSecond) {
+        return LocalDateTime.ofEpochSecond(epochSecond, 0, ZoneOffset.UTC);
+    }
+
+    private static final class RegionSeries {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private volatile boolean ready;
+        private volatile long lastRead;
+        private long coveredFrom;
+        private int start;
+        private int size;
+        private long[] ids;
+        private long[] times;
+        private float[] temperature;
+        private float[] humidity;
+        private float[] windSpeed;
+        private float[] precipitation;
+        private byte[] condition;
+
+        RegionSeries(long coveredFrom, int capacity) {
+            this.coveredFrom = coveredFrom;
+            allocate(capacity);
+        }
+
+        void insert(long id, long time, float temp, float hum, float wind, float precip, byte cond) {
+            lock.writeLock().lock();
+            try {
+                if (time < coveredFrom) {
+                    return;
+                }
+                int position = upperBound(time);
+                for (int i = position - 1; i >= start && times[i] == time; i--) {
+                    if (ids[i] == id) {
+                        set(i, id, time, temp, hum, wind, precip, cond);
+                        return;
+                    }
+                }
+                if (start + size == times.length) {
+                    int shift = start;
+                    makeRoom();
+                    position -= shift;
+                }
+                int tail = start + size - position;
+                if (tail > 0) {
+                    System.arraycopy(ids, position, ids, position + 1, tail);
+                    System.arraycopy(times, position, times, position + 1, tail);
+                    System.arraycopy(temperature, position, temperature, position + 1, tail);
+                    System.arraycopy(humidity, position, humidity, position + 1, tail);
+                    System.arraycopy(windSpeed, position, windSpeed, position + 1, tail);
+                    System.arraycopy(precipitation, position, precipitation, position + 1, tail);
+                    System.arraycopy(condition, position, condition, position + 1, tail);
+                }
+                set(position, id, time, temp, hum, wind, precip, cond);
+                size++;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        void trim(long cutoff, int maxPoints) {
+            lock.writeLock().lock();
+            try {
+                int drop = Math.max(lowerBound(cutoff) - start, size - maxPoints);
+                if (drop <= 0) {
+                    coveredFrom = Math.max(coveredFrom, cutoff);
+                    return;
+                }
+                long lastDropped = times[start + drop - 1];
+                start += drop;
+                size -= drop;
+                coveredFrom = Math.max(Math.max(coveredFrom, cutoff), lastDropped + 1);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        WeatherSeriesDto slice(Long regionId, long from, long to) {
+            lock.readLock().lock();
+            try {
+                if (from < coveredFrom) {
+                    return null;
+                }
+                int lo = lowerBound(from);
+                int hi = Math.max(lo, upperBound(to));
+                WeatherCondition[] conditions = new WeatherCondition[hi - lo];
+                for (int i = lo; i < hi; i++) {
+                    conditions[i - lo] = CONDITIONS[condition[i]];
+                }
+                return new WeatherSeriesDto(regionId,
+                        Arrays.copyOfRange(times, lo, hi),
+                        Arrays.copyOfRange(temperature, lo, hi),
+                        Arrays.copyOfRange(humidity, lo, hi),
+                        Arrays.copyOfRange(windSpeed, lo, hi),
+                        Arrays.copyOfRange(precipitation, lo, hi),
+                        conditions);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void set(int i, long id, long time, float temp, float hum, float wind, float precip, byte cond) {
+            ids[i] = id;
+            times[i] = time;
+            temperature[i] = temp;
+            humidity[i] = hum;
+            windSpeed[i] = wind;
+            precipitation[i] = precip;
+            condition[i] = cond;
+        }
+
+        private void makeRoom() {
+            int capacity = size * 2 > times.length ? times.length * 2 : times.length;
+            long[] oldIds = ids;
+            long[] oldTimes = times;
+            float[] oldTemperature = temperature;
+            float[] oldHumidity = humidity;
+            float[] oldWindSpeed = windSpeed;
+            float[] oldPrecipitation = precipitation;
+            byte[] oldCondition = condition;
+            if (capacity != times.length) {
+                allocate(capacity);
+            }
+            System.arraycopy(oldIds, start, ids, 0, size);
+            System.arraycopy(oldTimes, start, times, 0, size);
+            System.arraycopy(oldTemperature, start, temperature, 0, size);
+            System.arraycopy(oldHumidity, start, humidity, 0, size);
+            System.arraycopy(oldWindSpeed, start, windSpeed, 0, size);
+            System.arraycopy(oldPrecipitation, start, precipitation, 0, size);
+            System.arraycopy(oldCondition, start, condition, 0, size);
+            start = 0;
+        }
+
+        private void allocate(int capacity) {
+            ids = new long[capacity];
+            times = new long[capacity];
+            temperature = new float[capacity];
+            humidity = new float[capacity];
+            windSpeed = new float[capacity];
+            precipitation = new float[capacity];
+            condition = new byte[capacity];
+        }
+
+        private int lowerBound(long time) {
+            int lo = start;
+            int hi = start + size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (times[mid] < time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int upperBound(long time) {
+            int lo = start;
+            int hi = start + size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (times[mid] <= time) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -1,90 +1,291 @@
 package org.example.climatica.weather;
 
-import org.example.climatica.exception.InvalidParametersException;
+import org.example.climatica.exception.DuplicateObservationException;
 import org.example.climatica.exception.NotFoundException;
 import org.example.climatica.exception.UnauthorizedException;
 import org.example.climatica.model.Region;
 import org.example.climatica.model.WeatherCondition;
 import org.example.climatica.model.WeatherData;
 import org.example.climatica.region.RegionRepository;
+import org.example.climatica.region.RegionSpatialIndex;
+import org.example.climatica.transaction.AfterCommit;
+import org.example.climatica.weather.dto.WeatherBatchResponse;
 import org.example.climatica.weather.dto.WeatherDataCreateRequest;
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.example.climatica.weather.dto.WeatherSearchPage;
+import org.example.climatica.weather.dto.WeatherSeriesDto;
 import org.example.climatica.weather.dto.WeatherUpdateDTO;
+import org.example.climatica.weather_aggregate.WeatherAggregateService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class WeatherService {
 
+    private static final Sort SEARCH_ORDER = Sort.by("measurementDateTime", "id");
+    private static final Sort LATEST_ORDER = Sort.by(Sort.Direction.DESC, "measurementDateTime", "id");
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
     private final WeatherRepository weatherRepository;
     private final RegionRepository regionRepository;
+    private final WeatherAggregateService weatherAggregateService;
+    private final LatestWeatherCache latestWeatherCache;
+    private final RegionSpatialIndex regionSpatialIndex;
+    private final WeatherMetrics weatherMetrics;
+    private final WeatherSeriesStore weatherSeriesStore;
+    private final WeatherFeed weatherFeed;
+    private final WeatherDedupFilter weatherDedupFilter;
 
-    public WeatherService(WeatherRepository weatherRepository, RegionRepository regionRepository) {
+    public WeatherService(WeatherRepository weatherRepository, RegionRepository regionRepository,
+                          WeatherAggregateService weatherAggregateService, LatestWeatherCache latestWeatherCache,
+                          RegionSpatialIndex regionSpatialIndex, WeatherMetrics weatherMetrics,
+                          WeatherSeriesStore weatherSeriesStore, WeatherFeed weatherFeed,
+                          WeatherDedupFilter weatherDedupFilter) {
         this.weatherRepository = weatherRepository;
         this.regionRepository = regionRepository;
+        this.weatherAggregateService = weatherAggregateService;
+        this.latestWeatherCache = latestWeatherCache;
+        this.regionSpatialIndex = regionSpatialIndex;
+        this.weatherMetrics = weatherMetrics;
+        this.weatherSeriesStore = weatherSeriesStore;
+        this.weatherFeed = weatherFeed;
+        this.weatherDedupFilter = weatherDedupFilter;
     }
 
     public WeatherData getWeatherByRegionId(Long regionId) throws UnauthorizedException, NotFoundException {
-        return weatherRepository.findByRegionId(regionId)
+        return weatherRepository.findLatestByRegionId(regionId)
                 .orElseThrow(() -> new NotFoundException("Region not found"));
     }
 
-    public List<WeatherData> searchWeather(String startDateTime, String endDateTime, Long regionId, String weatherCondition, int page, int size) {
+    public WeatherDataResponse getLatestWeather(Long regionId) throws UnauthorizedException, NotFoundException {
+        WeatherDataResponse cached = latestWeatherCache.get(regionId);
+        if (cached != null) {
+            return cached;
+        }
+        long ticket = latestWeatherCache.ticket();
+        List<WeatherDataResponse> rows = weatherRepository.findResponses(
+                Specification.where(WeatherSpecifications.regionIdEquals(regionId)).and(WeatherSpecifications.hasMeasurementDateTime()),
+                LATEST_ORDER, 0, 1);
+        if (rows.isEmpty()) {
+            throw new NotFoundException("Region not found");
+        }
+        WeatherDataResponse latest = rows.get(0);
+        latestWeatherCache.putIfNewer(regionId, latest, ticket);
+        return latest;
+    }
+
+    public List<WeatherDataResponse> getLatestWeatherForRegions(List<Long> regionIds) {
+        List<WeatherDataResponse> result = new ArrayList<>(regionIds.size());
+        List<Long> misses = new ArrayList<>();
+        for (Long regionId : regionIds) {
+            WeatherDataResponse cached = latestWeatherCache.get(regionId);
+            if (cached != null) {
+                result.add(cached);
+            } else {
+                misses.add(regionId);
+            }
+        }
+        long ticket = latestWeatherCache.ticket();
+        for (int from = 0; from < misses.size(); from += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = misses.subList(from, Math.min(from + IN_CLAUSE_CHUNK_SIZE, misses.size()));
+            for (WeatherDataResponse latest : weatherRepository.findResponsesByIdIn(weatherRepository.findLatestIdsByRegionIdIn(chunk))) {
+                latestWeatherCache.putIfNewer(latest.getRegionId(), latest, ticket);
+                result.add(latest);
+            }
+        }
+        return result;
+    }
+
+    public WeatherSeriesDto getSeries(Long regionId, String startDateTime, String endDateTime) {
+        if (regionId == null || regionId <= 0)
+            throw new IllegalArgumentException("Invalid regionId. It must be greater than 0.");
+        LocalDateTime start = LocalDateTime.parse(startDateTime);
+        LocalDateTime end = endDateTime != null ? LocalDateTime.parse(endDateTime) : null;
+        if (end != null && end.isBefore(start))
+            throw new IllegalArgumentException("endDateTime must not be before startDateTime.");
+        return weatherSeriesStore.read(regionId, start, end);
+    }
+
+    public List<WeatherDataResponse> searchWeather(String startDateTime, String endDateTime, Long regionId, String weatherCondition, int page, int size) {
+        Specification<WeatherData> filters = buildSearchFilters(startDateTime, endDateTime, regionId, weatherCondition);
+        Pageable pageable = PageRequest.of(page, size, SEARCH_ORDER);
+
+        return weatherRepository.findResponses(filters, pageable.getSort(), pageable.getOffset(), pageable.getPageSize());
+    }
+
+    public WeatherSearchPage searchWeatherAfter(String startDateTime, String endDateTime, Long regionId, String weatherCondition, String cursor, int size) {
+        if (size <= 0)
+            throw new IllegalArgumentException("Invalid size. It must be greater than 0.");
+
+        Specification<WeatherData> filters = buildSearchFilters(startDateTime, endDateTime, regionId, weatherCondition)
+                .and(WeatherSpecifications.hasMeasurementDateTime())
+                .and(cursor == null || cursor.isEmpty() ? null : WeatherSpecifications.after(WeatherSearchCursor.decode(cursor)));
+
+        List<WeatherDataResponse> rows = weatherRepository.findResponses(filters, SEARCH_ORDER, 0, size + 1);
+        if (rows.size() <= size) {
+            return new WeatherSearchPage(rows, null);
+        }
+        List<WeatherDataResponse> items = rows.subList(0, size);
+        return new WeatherSearchPage(items, WeatherSearchCursor.of(items.get(size - 1)).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public long exportWeather(Specification<WeatherData> filters, Consumer<WeatherDataResponse> consumer) {
+        return weatherRepository.streamResponses(filters, SEARCH_ORDER, consumer);
+    }
+
+    Specification<WeatherData> buildSearchFilters(String startDateTime, String endDateTime, Long regionId, String weatherCondition) {
         if (regionId != null && regionId <= 0)
             throw new IllegalArgumentException("Invalid regionId. It must be greater than 0.");
         if (weatherCondition != null && !Arrays.asList("CLEAR", "CLOUDY", "RAIN", "SNOW", "FOG", "STORM").contains(weatherCondition))
             throw new IllegalArgumentException("Invalid weather condition.");
 
-        LocalDateTime start = startDateTime != null ? LocalDateTime.parse(startDateTime) : LocalDateTime.MIN;
-        LocalDateTime end = endDateTime != null ? LocalDateTime.parse(endDateTime) : LocalDateTime.MAX;
-        Pageable pageable = PageRequest.of(page, size);
+        LocalDateTime start = startDateTime != null ? LocalDateTime.parse(startDateTime) : null;
+        LocalDateTime end = endDateTime != null ? LocalDateTime.parse(endDateTime) : null;
+        WeatherCondition condition = weatherCondition != null ? WeatherCondition.valueOf(weatherCondition) : null;
+
+        return Specification.where(WeatherSpecifications.regionIdEquals(regionId))
+                .and(WeatherSpecifications.measuredFrom(start))
+                .and(WeatherSpecifications.measuredUntil(end))
+                .and(WeatherSpecifications.conditionEquals(condition));
+    }
 
-        return weatherRepository.findByRegionIdAndMeasurementDateTimeBetweenAndWeatherCondition(regionId, start, end, WeatherCondition.valueOf(weatherCondition), pageable).getContent();
+    @Transactional
+    public void addWeatherBatch(Map<Integer, WeatherDataCreateRequest> requests, WeatherBatchResponse response) {
+        storeBatch(requests, response, WeatherMetrics.SOURCE_BATCH);
     }
 
-    public WeatherData addWeather(WeatherData weatherData) throws InvalidParametersException, UnauthorizedException, NotFoundException {
-        if (weatherData.getRegion() == null) {
-            throw new NotFoundException("Region is required");
+    @Transactional
+    public Map<Integer, WeatherDataResponse> addWeatherBuffered(Map<Integer, WeatherDataCreateRequest> requests, WeatherBatchResponse response) {
+        return storeBatch(requests, response, WeatherMetrics.SOURCE_SINGLE);
+    }
+
+    private Map<Integer, WeatherDataResponse> storeBatch(Map<Integer, WeatherDataCreateRequest> requests, WeatherBatchResponse response, String source) {
+        Map<Integer, WeatherDataCreateRequest> candidates = new LinkedHashMap<>();
+        Set<WeatherDedupFilter.ObservationKey> batchKeys = new HashSet<>();
+        requests.forEach((index, request) -> {
+            if (request.getMeasurementDateTime() != null
+                    && (weatherDedupFilter.mightContain(request.getRegionId(), request.getMeasurementDateTime())
+                    || !batchKeys.add(new WeatherDedupFilter.ObservationKey(request.getRegionId(), request.getMeasurementDateTime())))) {
+                response.addDuplicate(index);
+            } else {
+                candidates.put(index, request);
+            }
+        });
+        Set<WeatherDedupFilter.ObservationKey> existing = findExistingKeys(candidates.values());
+
+        Set<Long> regionIds = candidates.values().stream()
+                .map(WeatherDataCreateRequest::getRegionId)
+                .collect(Collectors.toSet());
+        Map<Long, Region> regions = regionRepository.findAllById(regionIds).stream()
+                .collect(Collectors.toMap(Region::getId, Function.identity()));
+
+        List<Integer> indexes = new ArrayList<>(candidates.size());
+        List<WeatherData> batch = new ArrayList<>(candidates.size());
+        candidates.forEach((index, request) -> {
+            Region region = regions.get(request.getRegionId());
+            if (existing.contains(new WeatherDedupFilter.ObservationKey(request.getRegionId(), request.getMeasurementDateTime()))) {
+                weatherDedupFilter.remember(request.getRegionId(), request.getMeasurementDateTime());
+                response.addDuplicate(index);
+            } else if (region == null) {
+                response.addError(index, "Region with ID: " + request.getRegionId() + " not found");
+            } else {
+                indexes.add(index);
+                batch.add(toEntity(request, region));
+            }
+        });
+
+        List<WeatherData> saved = weatherRepository.saveAll(batch);
+        weatherAggregateService.recordAll(saved);
+        Map<Integer, WeatherDataResponse> stored = new LinkedHashMap<>();
+        for (int i = 0; i < saved.size(); i++) {
+            WeatherData weatherData = saved.get(i);
+            stored.put(indexes.get(i), offerLatest(weatherData));
+            response.addCreated(weatherData.getId());
         }
-        return weatherRepository.save(weatherData);
+        weatherMetrics.recordIngested(source, saved.size());
+        return stored;
     }
 
+    private Set<WeatherDedupFilter.ObservationKey> findExistingKeys(Collection<WeatherDataCreateRequest> requests) {
+        Set<Long> regionIds = new HashSet<>();
+        Set<LocalDateTime> times = new HashSet<>();
+        for (WeatherDataCreateRequest request : requests) {
+            if (request.getMeasurementDateTime() != null) {
+                regionIds.add(request.getRegionId());
+                times.add(request.getMeasurementDateTime());
+            }
+        }
+        Set<WeatherDedupFilter.ObservationKey> existing = new HashSet<>();
+        if (times.isEmpty()) {
+            return existing;
+        }
+        for (Object[] row : weatherRepository.findObservationKeys(regionIds, times)) {
+            existing.add(new WeatherDedupFilter.ObservationKey((Long) row[0], (LocalDateTime) row[1]));
+        }
+        return existing;
+    }
 
+    @Transactional
     public WeatherData updateWeatherAndRegion(Long regionId, WeatherUpdateDTO dto) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new NotFoundException("Region with ID " + regionId + " not found"));
 
         region.setName(dto.getRegionName());
-        regionRepository.save(region);
+        indexRegion(regionRepository.save(region));
 
-        WeatherData existingWeather = weatherRepository.findByRegionId(regionId)
+        WeatherData existingWeather = weatherRepository.findLatestByRegionId(regionId)
                 .orElseThrow(() -> new NotFoundException("Weather data for region ID " + regionId + " not found"));
         updateRegionName(regionId, dto.getRegionName());
+        LocalDateTime previousMeasurementDateTime = existingWeather.getMeasurementDateTime();
+        ensureKeyAvailable(regionId, dto.getMeasurementDateTime(), existingWeather.getId());
         existingWeather.setTemperature(dto.getTemperature());
         existingWeather.setHumidity(dto.getHumidity());
         existingWeather.setWindSpeed(dto.getWindSpeed());
         existingWeather.setWeatherCondition(WeatherCondition.valueOf(dto.getWeatherCondition()));
         existingWeather.setPrecipitationAmount(dto.getPrecipitationAmount());
         existingWeather.setMeasurementDateTime(dto.getMeasurementDateTime());
-        return weatherRepository.save(existingWeather);
+        WeatherData savedWeatherData = saveRekeyed(existingWeather);
+        weatherAggregateService.refresh(regionId, previousMeasurementDateTime);
+        weatherAggregateService.refresh(regionId, savedWeatherData.getMeasurementDateTime());
+        evictLatest(regionId);
+        rekeyObservation(regionId, previousMeasurementDateTime, regionId, savedWeatherData.getMeasurementDateTime());
+        publishUpdate(savedWeatherData);
+        return savedWeatherData;
     }
 
     public void updateRegionName(Long regionId, String newName) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new NotFoundException("Region with ID " + regionId + " not found"));
         region.setName(newName);
-        regionRepository.save(region);
+        indexRegion(regionRepository.save(region));
     }
 
+    @Transactional
     public void deleteWeatherByRegionId(Long regionId) throws UnauthorizedException, NotFoundException {
         WeatherData weather = getWeatherByRegionId(regionId);
-        weatherRepository.delete(weather);
+        deleteAndRefreshAggregates(weather);
     }
 
+    @Transactional
     public WeatherData addWeatherToRegion(long regionId, long weatherId) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new NotFoundException("Region with ID " + regionId + " not found"));
@@ -92,10 +293,22 @@ public class WeatherService {
         WeatherData weatherData = weatherRepository.findById(weatherId)
                 .orElseThrow(() -> new NotFoundException("Weather with ID " + weatherId + " not found"));
 
+        Region previousRegion = weatherData.getRegion();
+        ensureKeyAvailable(regionId, weatherData.getMeasurementDateTime(), weatherData.getId());
         weatherData.setRegion(region);
-        return weatherRepository.save(weatherData);
+        WeatherData savedWeatherData = saveRekeyed(weatherData);
+        if (previousRegion != null) {
+            weatherAggregateService.refresh(previousRegion.getId(), savedWeatherData.getMeasurementDateTime());
+            evictLatest(previousRegion.getId());
+        }
+        rekeyObservation(previousRegion != null ? previousRegion.getId() : null, savedWeatherData.getMeasurementDateTime(),
+                regionId, savedWeatherData.getMeasurementDateTime());
+        weatherAggregateService.refresh(regionId, savedWeatherData.getMeasurementDateTime());
+        evictLatest(regionId);
+        return savedWeatherData;
     }
 
+    @Transactional
     public Region deleteWeatherFromRegion(long regionId, long weatherId) {
         Region region = regionRepository.findById(regionId)
                 .orElseThrow(() -> new NotFoundException("Region with ID " + regionId + " not found"));
@@ -107,20 +320,81 @@ public class WeatherService {
             throw new NotFoundException("Weather does not belong to the specified region");
         }
 
-        weatherRepository.delete(weatherData);
+        deleteAndRefreshAggregates(weatherData);
         return region;
     }
 
+    @Transactional
     public void deleteWeather(Long regionId, Long weatherId) throws UnauthorizedException, NotFoundException {
         WeatherData weather = getWeatherByRegionId(weatherId);
-        weatherRepository.delete(weather);
+        deleteAndRefreshAggregates(weather);
     }
 
-    WeatherData convertToEntity(WeatherDataCreateRequest request) throws NotFoundException {
-        WeatherData weatherData = new WeatherData();
+    private void deleteAndRefreshAggregates(WeatherData weatherData) {
+        weatherRepository.delete(weatherData);
+        weatherRepository.flush();
+        if (weatherData.getRegion() != null) {
+            weatherAggregateService.refresh(weatherData.getRegion().getId(), weatherData.getMeasurementDateTime());
+            evictLatest(weatherData.getRegion().getId());
+            rekeyObservation(weatherData.getRegion().getId(), weatherData.getMeasurementDateTime(), null, null);
+        }
+    }
+
+    // Runs before the entity is modified: the query would otherwise auto-flush the new key and fail on the constraint.
+    private void ensureKeyAvailable(Long regionId, LocalDateTime measurementDateTime, Long weatherId) {
+        if (measurementDateTime != null && weatherRepository.existsOtherObservation(regionId, measurementDateTime, weatherId)) {
+            throw new DuplicateObservationException(WeatherBatchResponse.DUPLICATE_MESSAGE);
+        }
+    }
 
-        Region region = regionRepository.findById(request.getRegionId())
-                .orElseThrow(() -> new NotFoundException("Region with ID: " + request.getRegionId() + " not found"));
+    private WeatherData saveRekeyed(WeatherData weatherData) {
+        try {
+            return weatherRepository.saveAndFlush(weatherData);
+        } catch (DataIntegrityViolationException e) {
+            // Another writer committed the same key after ensureKeyAvailable.
+            throw new DuplicateObservationException(WeatherBatchResponse.DUPLICATE_MESSAGE);
+        }
+    }
+
+    private WeatherDataResponse offerLatest(WeatherData weatherData) {
+        Long regionId = weatherData.getRegion().getId();
+        WeatherDataResponse snapshot = new WeatherDataResponse(weatherData);
+        AfterCommit.run(() -> {
+            latestWeatherCache.offer(regionId, snapshot);
+            weatherSeriesStore.offer(regionId, snapshot);
+            weatherFeed.publish(regionId, snapshot);
+            weatherDedupFilter.remember(regionId, snapshot.getMeasurementDateTime());
+        });
+        return snapshot;
+    }
+
+    private void rekeyObservation(Long previousRegionId, LocalDateTime previousMeasurementDateTime,
+                                  Long regionId, LocalDateTime measurementDateTime) {
+        AfterCommit.run(() -> {
+            weatherDedupFilter.forget(previousRegionId, previousMeasurementDateTime);
+            weatherDedupFilter.remember(regionId, measurementDateTime);
+        });
+    }
+
+    private void publishUpdate(WeatherData weatherData) {
+        Long regionId = weatherData.getRegion().getId();
+        WeatherDataResponse snapshot = new WeatherDataResponse(weatherData);
+        AfterCommit.run(() -> weatherFeed.publish(regionId, snapshot));
+    }
+
+    private void indexRegion(Region region) {
+        AfterCommit.run(() -> regionSpatialIndex.put(region));
+    }
+
+    private void evictLatest(Long regionId) {
+        AfterCommit.run(() -> {
+            latestWeatherCache.evict(regionId);
+            weatherSeriesStore.invalidate(regionId);
+        });
+    }
+
+    private WeatherData toEntity(WeatherDataCreateRequest request, Region region) {
+        WeatherData weatherData = new WeatherData();
         weatherData.setRegion(region);
 
         weatherData.setTemperature(request.getTemperature());
@@ -0,0 +1,48 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.model.WeatherCondition;
+import org.example.climatica.model.WeatherData;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+final class WeatherSpecifications {
+
+    private WeatherSpecifications() {
+    }
+
+    static Specification<WeatherData> regionIdEquals(Long regionId) {
+        return regionId == null ? null : (root, query, cb) -> cb.equal(root.get("region").get("id"), regionId);
+    }
+
+    static Specification<WeatherData> measuredFrom(LocalDateTime start) {
+        return start == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("measurementDateTime"), start);
+    }
+
+    static Specification<WeatherData> measuredUntil(LocalDateTime end) {
+        return end == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("measurementDateTime"), end);
+    }
+
+    static Specification<WeatherData> conditionEquals(WeatherCondition weatherCondition) {
+        return weatherCondition == null ? null : (root, query, cb) -> cb.equal(root.get("weatherCondition"), weatherCondition);
+    }
+
+    static Specification<WeatherData> hasMeasurementDateTime() {
+        return (root, query, cb) -> cb.isNotNull(root.get("measurementDateTime"));
+    }
+
+    static Specification<WeatherData> after(WeatherSearchCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        // The leading >= is redundant with the OR, but it is what lets the (time, id) indexes start the range scan at
+        // the cursor instead of filtering every earlier row.
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("measurementDateTime"), cursor.measurementDateTime()),
+                cb.or(
+                        cb.greaterThan(root.get("measurementDateTime"), cursor.measurementDateTime()),
+                        cb.greaterThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+}
@@ -0,0 +1,21 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.weather.dto.WeatherDataCreateRequest;
+
+import java.util.Arrays;
+
+/**
+ * Field rules for incoming observations, shared by the request endpoints and the bulk importer.
+ */
+final class WeatherValidation {
+
+    private WeatherValidation() {
+    }
+
+    static boolean isValid(WeatherDataCreateRequest request) {
+        return !(request.getRegionId() == null || request.getRegionId() <= 0 ||
+                request.getMeasurementDateTime() == null || request.getWindSpeed() < 0 ||
+                request.getPrecipitationAmount() < 0 ||
+                !Arrays.asList("CLEAR", "CLOUDY", "RAIN", "SNOW", "FOG", "STORM").contains(request.getWeatherCondition()));
+    }
+}
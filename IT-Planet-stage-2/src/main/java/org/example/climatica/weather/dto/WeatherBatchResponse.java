@@ -0,0 +1,48 @@
+package org.example.climatica.weather.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class WeatherBatchResponse {
+    public static final String DUPLICATE_MESSAGE = "Duplicate observation for this region and measurementDateTime";
+
+    private int accepted;
+    private int rejected;
+    private int duplicates;
+    private List<Long> createdIds = new ArrayList<>();
+    private List<RowError> errors = new ArrayList<>();
+
+    public void addCreated(Long id) {
+        createdIds.add(id);
+        accepted++;
+    }
+
+    public void addError(int index, String message) {
+        errors.add(new RowError(index, message));
+        rejected++;
+    }
+
+    public void addDuplicate(int index) {
+        addError(index, DUPLICATE_MESSAGE);
+        duplicates++;
+    }
+
+    public void merge(WeatherBatchResponse other) {
+        accepted += other.accepted;
+        rejected += other.rejected;
+        duplicates += other.duplicates;
+        createdIds.addAll(other.createdIds);
+        errors.addAll(other.errors);
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class RowError {
+        private int index;
+        private String message;
+    }
+}
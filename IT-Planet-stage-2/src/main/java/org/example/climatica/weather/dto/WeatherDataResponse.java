@@ -1,13 +1,19 @@
 package org.example.climatica.weather.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.example.climatica.model.WeatherData;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 public class WeatherDataResponse {
     private Long id;
+    private Long regionId;
     private String regionName;
     private float temperature;
     private float humidity;
@@ -16,4 +22,21 @@ public class WeatherDataResponse {
     private float precipitationAmount;
     private LocalDateTime measurementDateTime;
     private List<Long> weatherForecast;
+    private long version;
+    private Instant lastModified;
+
+    public WeatherDataResponse(WeatherData weatherData) {
+        this.id = weatherData.getId();
+        this.regionId = weatherData.getRegion() != null ? weatherData.getRegion().getId() : null;
+        this.regionName = weatherData.getRegion() != null ? weatherData.getRegion().getName() : "Unknown Region";
+        this.temperature = weatherData.getTemperature();
+        this.humidity = weatherData.getHumidity();
+        this.windSpeed = weatherData.getWindSpeed();
+        this.weatherCondition = weatherData.getWeatherCondition().toString();
+        this.precipitationAmount = weatherData.getPrecipitationAmount();
+        this.measurementDateTime = weatherData.getMeasurementDateTime();
+        this.weatherForecast = weatherData.getWeatherForecast() != null ? new ArrayList<>(weatherData.getWeatherForecast()) : null;
+        this.version = weatherData.getVersion();
+        this.lastModified = weatherData.getLastModified();
+    }
 }
@@ -0,0 +1,18 @@
+package org.example.climatica.weather.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class WeatherImportReport {
+    private long rowsRead;
+    private long rowsStaged;
+    private long rowsImported;
+    private long rowsRejected;
+    private long duplicates;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+    private List<WeatherBatchResponse.RowError> errors = new ArrayList<>();
+}
@@ -0,0 +1,13 @@
+package org.example.climatica.weather.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class WeatherSearchPage {
+    private List<WeatherDataResponse> items;
+    private String nextCursor;
+}
@@ -0,0 +1,17 @@
+package org.example.climatica.weather.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.example.climatica.model.WeatherCondition;
+
+@Data
+@AllArgsConstructor
+public class WeatherSeriesDto {
+    private Long regionId;
+    private long[] measurementEpochSeconds;
+    private float[] temperature;
+    private float[] humidity;
+    private float[] windSpeed;
+    private float[] precipitationAmount;
+    private WeatherCondition[] weatherCondition;
+}
@@ -0,0 +1,59 @@
+package org.example.climatica.weather_aggregate;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.example.climatica.model.AggregatePeriod;
+import org.example.climatica.weather_aggregate.dto.WeatherAggregateDto;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@RestController
+@Tag(name = "Weather Aggregate Controller", description = "API for hourly and daily weather rollups")
+@RequestMapping("/region/weather/aggregate")
+public class WeatherAggregateController {
+
+    private final WeatherAggregateService weatherAggregateService;
+
+    public WeatherAggregateController(WeatherAggregateService weatherAggregateService) {
+        this.weatherAggregateService = weatherAggregateService;
+    }
+
+    @Operation(summary = "Get hourly or daily weather aggregates for a region",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Aggregates retrieved successfully"),
+                    @ApiResponse(responseCode = "400", description = "Invalid input parameters"),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized access")
+            })
+    @GetMapping
+    public ResponseEntity<?> getAggregates(
+            @RequestParam Long regionId,
+            @RequestParam(defaultValue = "HOUR") String period,
+            @RequestParam String startDateTime,
+            @RequestParam String endDateTime) {
+        if (regionId <= 0) {
+            return ResponseEntity.badRequest().body("Invalid regionId. It must be greater than 0.");
+        }
+        try {
+            AggregatePeriod aggregatePeriod = AggregatePeriod.valueOf(period);
+            LocalDateTime start = LocalDateTime.parse(startDateTime);
+            LocalDateTime end = LocalDateTime.parse(endDateTime);
+            if (end.isBefore(start)) {
+                return ResponseEntity.badRequest().body("endDateTime must not be before startDateTime");
+            }
+            List<WeatherAggregateDto> aggregates = weatherAggregateService.getAggregates(regionId, aggregatePeriod, start, end);
+            return ResponseEntity.ok(aggregates);
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.badRequest().body("Invalid date format. Please use ISO-8601 format.");
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Invalid period. Use HOUR or DAY.");
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.example.climatica.weather_aggregate;
+
+import org.example.climatica.model.AggregatePeriod;
+import org.example.climatica.model.WeatherAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface WeatherAggregateRepository extends JpaRepository<WeatherAggregate, Long> {
+
+    List<WeatherAggregate> findByRegionIdAndPeriodAndBucketStartBetweenOrderByBucketStart(
+            Long regionId,
+            AggregatePeriod period,
+            LocalDateTime from,
+            LocalDateTime to
+    );
+
+    List<WeatherAggregate> findByRegionIdInAndPeriodAndBucketStartBetween(
+            Collection<Long> regionIds,
+            AggregatePeriod period,
+            LocalDateTime from,
+            LocalDateTime to
+    );
+
+    // Shared with the bulk importer, which folds whole buckets into weather_aggregate with the same statements.
+    String INSERT_INTO = "INSERT INTO weather_aggregate (region_id, period, bucket_start, observation_count, " +
+            "temperature_sum, temperature_min, temperature_max, humidity_sum, humidity_min, humidity_max, " +
+            "wind_speed_sum, wind_speed_min, wind_speed_max, precipitation_total) ";
+    // Aggregates of weather_data columns in INSERT_INTO order after bucket_start.
+    String BUCKET_AGGREGATES = "COUNT(*), " +
+            "SUM(temperature::double precision), MIN(temperature), MAX(temperature), " +
+            "SUM(humidity::double precision), MIN(humidity), MAX(humidity), " +
+            "SUM(wind_speed::double precision), MIN(wind_speed), MAX(wind_speed), " +
+            "SUM(precipitation_amount::double precision) ";
+    String ON_CONFLICT_ADD = "ON CONFLICT (region_id, period, bucket_start) DO UPDATE SET " +
+            "observation_count = weather_aggregate.observation_count + EXCLUDED.observation_count, " +
+            "temperature_sum = weather_aggregate.temperature_sum + EXCLUDED.temperature_sum, " +
+            "temperature_min = LEAST(weather_aggregate.temperature_min, EXCLUDED.temperature_min), " +
+            "temperature_max = GREATEST(weather_aggregate.temperature_max, EXCLUDED.temperature_max), " +
+            "humidity_sum = weather_aggregate.humidity_sum + EXCLUDED.humidity_sum, " +
+            "humidity_min = LEAST(weather_aggregate.humidity_min, EXCLUDED.humidity_min), " +
+            "humidity_max = GREATEST(weather_aggregate.humidity_max, EXCLUDED.humidity_max), " +
+            "wind_speed_sum = weather_aggregate.wind_speed_sum + EXCLUDED.wind_speed_sum, " +
+            "wind_speed_min = LEAST(weather_aggregate.wind_speed_min, EXCLUDED.wind_speed_min), " +
+            "wind_speed_max = GREATEST(weather_aggregate.wind_speed_max, EXCLUDED.wind_speed_max), " +
+            "precipitation_total = weather_aggregate.precipitation_total + EXCLUDED.precipitation_total";
+    String ON_CONFLICT_REPLACE = "ON CONFLICT (region_id, period, bucket_start) DO UPDATE SET " +
+            "observation_count = EXCLUDED.observation_count, " +
+            "temperature_sum = EXCLUDED.temperature_sum, " +
+            "temperature_min = EXCLUDED.temperature_min, " +
+            "temperature_max = EXCLUDED.temperature_max, " +
+            "humidity_sum = EXCLUDED.humidity_sum, " +
+            "humidity_min = EXCLUDED.humidity_min, " +
+            "humidity_max = EXCLUDED.humidity_max, " +
+            "wind_speed_sum = EXCLUDED.wind_speed_sum, " +
+            "wind_speed_min = EXCLUDED.wind_speed_min, " +
+            "wind_speed_max = EXCLUDED.wind_speed_max, " +
+            "precipitation_total = EXCLUDED.precipitation_total";
+
+    @Modifying
+    @Query(value = INSERT_INTO +
+            "VALUES (:regionId, :period, :bucketStart, :count, :temperatureSum, :temperatureMin, :temperatureMax, " +
+            ":humiditySum, :humidityMin, :humidityMax, :windSpeedSum, :windSpeedMin, :windSpeedMax, :precipitationTotal) " +
+            ON_CONFLICT_ADD,
+            nativeQuery = true)
+    void merge(@Param("regionId") Long regionId,
+               @Param("period") String period,
+               @Param("bucketStart") LocalDateTime bucketStart,
+               @Param("count") long count,
+               @Param("temperatureSum") double temperatureSum,
+               @Param("temperatureMin") float temperatureMin,
+               @Param("temperatureMax") float temperatureMax,
+               @Param("humiditySum") double humiditySum,
+               @Param("humidityMin") float humidityMin,
+               @Param("humidityMax") float humidityMax,
+               @Param("windSpeedSum") double windSpeedSum,
+               @Param("windSpeedMin") float windSpeedMin,
+               @Param("windSpeedMax") float windSpeedMax,
+               @Param("precipitationTotal") double precipitationTotal);
+
+    @Modifying
+    @Query(value = "DELETE FROM weather_aggregate WHERE region_id = :regionId AND period = :period AND bucket_start = :bucketStart",
+            nativeQuery = true)
+    void deleteBucket(@Param("regionId") Long regionId,
+                      @Param("period") String period,
+                      @Param("bucketStart") LocalDateTime bucketStart);
+
+    @Modifying
+    @Query(value = INSERT_INTO +
+            "SELECT :regionId, :period, :bucketStart, " + BUCKET_AGGREGATES +
+            "FROM weather_data WHERE region_id = :regionId " +
+            "AND measurement_date_time >= :bucketStart AND measurement_date_time < :bucketEnd " +
+            "HAVING COUNT(*) > 0 " +
+            ON_CONFLICT_REPLACE,
+            nativeQuery = true)
+    void rebuildBucket(@Param("regionId") Long regionId,
+                       @Param("period") String period,
+                       @Param("bucketStart") LocalDateTime bucketStart,
+                       @Param("bucketEnd") LocalDateTime bucketEnd);
+}
@@ -0,0 +1,189 @@
+package org.example.climatica.weather_aggregate;
+
+import org.example.climatica.model.AggregatePeriod;
+import org.example.climatica.model.WeatherAggregate;
+import org.example.climatica.model.WeatherData;
+import org.example.climatica.weather_aggregate.dto.WeatherAggregateDto;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+@Service
+public class WeatherAggregateService {
+
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    private final WeatherAggregateRepository repository;
+
+    public WeatherAggregateService(WeatherAggregateRepository repository) {
+        this.repository = repository;
+    }
+
+    public List<WeatherAggregateDto> getAggregates(Long regionId, AggregatePeriod period, LocalDateTime from, LocalDateTime to) {
+        return repository.findByRegionIdAndPeriodAndBucketStartBetweenOrderByBucketStart(regionId, period, period.bucketStart(from), to)
+                .stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    public List<WeatherAggregateDto> getCombinedAggregates(Long rootRegionId, List<Long> regionIds, AggregatePeriod period,
+                                                           LocalDateTime from, LocalDateTime to) {
+        Map<LocalDateTime, WeatherAggregate> combined = new TreeMap<>();
+        for (int i = 0; i < regionIds.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+            List<Long> chunk = regionIds.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, regionIds.size()));
+            for (WeatherAggregate aggregate : repository.findByRegionIdInAndPeriodAndBucketStartBetween(chunk, period, period.bucketStart(from), to)) {
+                combined.merge(aggregate.getBucketStart(), aggregate, this::combine);
+            }
+        }
+        return combined.values().stream()
+                .map(aggregate -> {
+                    WeatherAggregateDto dto = convertToDto(aggregate);
+                    dto.setRegionId(rootRegionId);
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Transactional
+    public void record(WeatherData weatherData) {
+        recordAll(List.of(weatherData));
+    }
+
+    @Transactional
+    public void recordAll(Collection<WeatherData> observations) {
+        Map<BucketKey, Bucket> buckets = new HashMap<>();
+        for (WeatherData weatherData : observations) {
+            if (!isAggregatable(weatherData)) {
+                continue;
+            }
+            for (AggregatePeriod period : AggregatePeriod.values()) {
+                BucketKey key = new BucketKey(weatherData.getRegion().getId(), period, period.bucketStart(weatherData.getMeasurementDateTime()));
+                buckets.computeIfAbsent(key, k -> new Bucket()).add(weatherData);
+            }
+        }
+        buckets.forEach((key, bucket) -> repository.merge(key.regionId, key.period.name(), key.bucketStart, bucket.count,
+                bucket.temperatureSum, bucket.temperatureMin, bucket.temperatureMax,
+                bucket.humiditySum, bucket.humidityMin, bucket.humidityMax,
+                bucket.windSpeedSum, bucket.windSpeedMin, bucket.windSpeedMax,
+                bucket.precipitationTotal));
+    }
+
+    /**
+     * Min/max cannot be reverted incrementally, so buckets touched by an update or delete are rebuilt from
+     * the raw rows of that single region and hour/day. Pending entity changes must be flushed beforehand.
+     */
+    @Transactional
+    public void refresh(Long regionId, LocalDateTime measurementDateTime) {
+        if (regionId == null || measurementDateTime == null) {
+            return;
+        }
+        for (AggregatePeriod period : AggregatePeriod.values()) {
+            LocalDateTime bucketStart = period.bucketStart(measurementDateTime);
+            repository.deleteBucket(regionId, period.name(), bucketStart);
+            repository.rebuildBucket(regionId, period.name(), bucketStart, period.bucketEnd(bucketStart));
+        }
+    }
+
+    private WeatherAggregate combine(WeatherAggregate left, WeatherAggregate right) {
+        WeatherAggregate result = new WeatherAggregate();
+        result.setPeriod(left.getPeriod());
+        result.setBucketStart(left.getBucketStart());
+        result.setObservationCount(left.getObservationCount() + right.getObservationCount());
+        result.setTemperatureSum(left.getTemperatureSum() + right.getTemperatureSum());
+        result.setTemperatureMin(Math.min(left.getTemperatureMin(), right.getTemperatureMin()));
+        result.setTemperatureMax(Math.max(left.getTemperatureMax(), right.getTemperatureMax()));
+        result.setHumiditySum(left.getHumiditySum() + right.getHumiditySum());
+        result.setHumidityMin(Math.min(left.getHumidityMin(), right.getHumidityMin()));
+        result.setHumidityMax(Math.max(left.getHumidityMax(), right.getHumidityMax()));
+        result.setWindSpeedSum(left.getWindSpeedSum() + right.getWindSpeedSum());
+        result.setWindSpeedMin(Math.min(left.getWindSpeedMin(), right.getWindSpeedMin()));
+        result.setWindSpeedMax(Math.max(left.getWindSpeedMax(), right.getWindSpeedMax()));
+        result.setPrecipitationTotal(left.getPrecipitationTotal() + right.getPrecipitationTotal());
+        return result;
+    }
+
+    private boolean isAggregatable(WeatherData weatherData) {
+        return weatherData.getRegion() != null && weatherData.getRegion().getId() != null
+                && weatherData.getMeasurementDateTime() != null;
+    }
+
+    private WeatherAggregateDto convertToDto(WeatherAggregate aggregate) {
+        WeatherAggregateDto dto = new WeatherAggregateDto();
+        long count = aggregate.getObservationCount();
+        dto.setRegionId(aggregate.getRegionId());
+        dto.setPeriod(aggregate.getPeriod());
+        dto.setBucketStart(aggregate.getBucketStart());
+        dto.setObservationCount(count);
+        dto.setTemperatureMin(aggregate.getTemperatureMin());
+        dto.setTemperatureMax(aggregate.getTemperatureMax());
+        dto.setTemperatureAvg(count > 0 ? aggregate.getTemperatureSum() / count : 0);
+        dto.setHumidityMin(aggregate.getHumidityMin());
+        dto.setHumidityMax(aggregate.getHumidityMax());
+        dto.setHumidityAvg(count > 0 ? aggregate.getHumiditySum() / count : 0);
+        dto.setWindSpeedMin(aggregate.getWindSpeedMin());
+        dto.setWindSpeedMax(aggregate.getWindSpeedMax());
+        dto.setWindSpeedAvg(count > 0 ? aggregate.getWindSpeedSum() / count : 0);
+        dto.setPrecipitationTotal(aggregate.getPrecipitationTotal());
+        return dto;
+    }
+
+    private static final class BucketKey {
+        private final Long regionId;
+        private final AggregatePeriod period;
+        private final LocalDateTime bucketStart;
+
+        private BucketKey(Long regionId, AggregatePeriod period, LocalDateTime bucketStart) {
+            this.regionId = regionId;
+            this.period = period;
+            this.bucketStart = bucketStart;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof BucketKey other)) return false;
+            return regionId.equals(other.regionId) && period == other.period && bucketStart.equals(other.bucketStart);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(regionId, period, bucketStart);
+        }
+    }
+
+    private static final class Bucket {
+        private long count;
+        private double temperatureSum;
+        private float temperatureMin = Float.MAX_VALUE;
+        private float temperatureMax = -Float.MAX_VALUE;
+        private double humiditySum;
+        private float humidityMin = Float.MAX_VALUE;
+        private float humidityMax = -Float.MAX_VALUE;
+        private double windSpeedSum;
+        private float windSpeedMin = Float.MAX_VALUE;
+        private float windSpeedMax = -Float.MAX_VALUE;
+        private double precipitationTotal;
+
+        private void add(WeatherData weatherData) {
+            count++;
+            temperatureSum += weatherData.getTemperature();
+            temperatureMin = Math.min(temperatureMin, weatherData.getTemperature());
+            temperatureMax = Math.max(temperatureMax, weatherData.getTemperature());
+            humiditySum += weatherData.getHumidity();
+            humidityMin = Math.min(humidityMin, weatherData.getHumidity());
+            humidityMax = Math.max(humidityMax, weatherData.getHumidity());
+            windSpeedSum += weatherData.getWindSpeed();
+            windSpeedMin = Math.min(windSpeedMin, weatherData.getWindSpeed());
+            windSpeedMax = Math.max(windSpeedMax, weatherData.getWindSpeed());
+            precipitationTotal += weatherData.getPrecipitationAmount();
+        }
+    }
+}
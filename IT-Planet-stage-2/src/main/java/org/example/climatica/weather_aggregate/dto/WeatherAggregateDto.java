@@ -0,0 +1,24 @@
+package org.example.climatica.weather_aggregate.dto;
+
+import lombok.Data;
+import org.example.climatica.model.AggregatePeriod;
+
+import java.time.LocalDateTime;
+
+@Data
+public class WeatherAggregateDto {
+    private Long regionId;
+    private AggregatePeriod period;
+    private LocalDateTime bucketStart;
+    private long observationCount;
+    private float temperatureMin;
+    private float temperatureMax;
+    private double temperatureAvg;
+    private float humidityMin;
+    private float humidityMax;
+    private double humidityAvg;
+    private float windSpeedMin;
+    private float windSpeedMax;
+    private double windSpeedAvg;
+    private double precipitationTotal;
+}
@@ -0,0 +1,280 @@
+package org.example.climatica.weather_forecast;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.example.climatica.etag.EntityVersionCache;
+import org.example.climatica.model.WeatherCondition;
+import org.example.climatica.model.WeatherForecast;
+import org.example.climatica.region.RegionRepository;
+import org.example.climatica.weather_forecast.dto.ForecastRunStats;
+import org.example.climatica.weather_forecast.dto.ForecastRunStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Generates short-range forecasts for every region from its observed history. Region ids are split into ranges on a
+ * fork-join pool; each leaf streams its history in region/time order through a server-side cursor, feeds a
+ * constant-size {@link ForecastModel} per region and upserts the forecasts of the whole range in one JDBC batch.
+ * Generated rows are flagged and keyed by (region, target time), so reruns update them in place.
+ */
+@Component
+public class ForecastEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(ForecastEngine.class);
+
+    private static final String HISTORY_SQL = "SELECT region_id, measurement_date_time, temperature, weather_condition " +
+            "FROM weather_data WHERE region_id BETWEEN ? AND ? AND measurement_date_time >= ? " +
+            "ORDER BY region_id, measurement_date_time, id";
+    private static final String UPSERT_SQL = "INSERT INTO weather_forecast (region_id, date_time, temperature, weather_condition, generated, version, last_modified) " +
+            "VALUES (?, ?, ?, ?, true, 0, now()) " +
+            "ON CONFLICT (region_id, date_time) WHERE generated " +
+            "DO UPDATE SET temperature = EXCLUDED.temperature, weather_condition = EXCLUDED.weather_condition, " +
+            "version = weather_forecast.version + 1, last_modified = now()";
+    private static final int WRITE_BATCH_SIZE = 1000;
+
+    private final RegionRepository regionRepository;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ForkJoinPool pool;
+    private final Duration history;
+    private final Duration horizon;
+    private final Duration step;
+    private final int chunkSize;
+    private final Timer runTimer;
+    private final EntityVersionCache entityVersionCache;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile ForecastRunStatus status = new ForecastRunStatus(ForecastRunStatus.State.IDLE, null, null, null);
+
+    public ForecastEngine(RegionRepository regionRepository, DataSource dataSource,
+                          PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                          EntityVersionCache entityVersionCache,
+                          @Value("${forecast.engine.parallelism:0}") int parallelism,
+                          @Value("${forecast.engine.history:P14D}") Duration history,
+                          @Value("${forecast.engine.horizon:PT24H}") Duration horizon,
+                          @Value("${forecast.engine.step:PT6H}") Duration step,
+                          @Value("${forecast.engine.chunk-size:500}") int chunkSize,
+                          @Value("${forecast.engine.fetch-size:2000}") int fetchSize) {
+        this.regionRepository = regionRepository;
+        this.entityVersionCache = entityVersionCache;
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(fetchSize);
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.history = history;
+        this.horizon = horizon;
+        this.step = step;
+        this.chunkSize = chunkSize;
+        this.runTimer = Timer.builder("forecast.engine.run")
+                .description("Duration of full forecast generation runs")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${forecast.engine.cron:-}")
+    public void scheduledRun() {
+        run().ifPresentOrElse(
+                stats -> log.info("Forecast run finished: {}", stats),
+                () -> log.info("Forecast run skipped, previous run still in progress"));
+    }
+
+    public Optional<ForecastRunStats> run() {
+        if (!begin()) {
+            return Optional.empty();
+        }
+        return Optional.of(execute());
+    }
+
+    /**
+     * Starts a run on the engine's pool and returns at once; empty when a run is already in progress.
+     * Progress and the outcome are reported by {@link #getStatus()}.
+     */
+    public Optional<ForecastRunStatus> start() {
+        if (!begin()) {
+            return Optional.empty();
+        }
+        ForecastRunStatus started = status;
+        try {
+            pool.execute(() -> {
+                try {
+                    execute();
+                } catch (RuntimeException e) {
+                    log.error("Forecast run failed", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finish(new ForecastRunStatus(ForecastRunStatus.State.FAILED, started.getStartedAt(), started.getLastRun(), e.getMessage()));
+            throw e;
+        }
+        return Optional.of(started);
+    }
+
+    public ForecastRunStatus getStatus() {
+        return status;
+    }
+
+    private boolean begin() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        status = new ForecastRunStatus(ForecastRunStatus.State.RUNNING, LocalDateTime.now(), status.getLastRun(), null);
+        return true;
+    }
+
+    private ForecastRunStats execute() {
+        ForecastRunStatus current = status;
+        try {
+            ForecastRunStats stats = runTimer.record(this::generate);
+            finish(new ForecastRunStatus(ForecastRunStatus.State.SUCCEEDED, current.getStartedAt(), stats, null));
+            return stats;
+        } catch (Throwable e) {
+            finish(new ForecastRunStatus(ForecastRunStatus.State.FAILED, current.getStartedAt(), current.getLastRun(), e.getMessage()));
+            throw e;
+        }
+    }
+
+    private void finish(ForecastRunStatus outcome) {
+        status = outcome;
+        running.set(false);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private ForecastRunStats generate() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long started = System.nanoTime();
+        long[] regionIds = regionRepository.findAllIdsOrdered().stream().mapToLong(Long::longValue).toArray();
+        Timestamp historyStart = Timestamp.valueOf(startedAt.minus(history));
+        long[] targets = targetEpochSeconds(startedAt);
+
+        RunCounters counters = new RunCounters();
+        if (regionIds.length > 0) {
+            pool.invoke(new RegionRangeTask(regionIds, 0, regionIds.length, historyStart, targets, counters));
+        }
+        return new ForecastRunStats(startedAt, regionIds.length, counters.regionsForecast.sum(),
+                counters.observations.sum(), counters.forecastsWritten.sum(),
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    private long[] targetEpochSeconds(LocalDateTime now) {
+        long stepSeconds = step.toSeconds();
+        long base = now.toEpochSecond(ZoneOffset.UTC) / stepSeconds * stepSeconds;
+        long[] targets = new long[(int) (horizon.toSeconds() / stepSeconds)];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = base + (i + 1) * stepSeconds;
+        }
+        return targets;
+    }
+
+    private void forecastRange(long fromRegionId, long toRegionId, Timestamp historyStart, long[] targets, RunCounters counters) {
+        List<Object[]> rows = new ArrayList<>();
+        ForecastModel model = new ForecastModel();
+        long[] currentRegion = {-1};
+        long[] observations = {0};
+
+        transactionTemplate.executeWithoutResult(status -> {
+            streamingJdbcTemplate.query(HISTORY_SQL, (RowCallbackHandler) rs -> {
+                long regionId = rs.getLong(1);
+                if (regionId != currentRegion[0]) {
+                    emit(currentRegion[0], model, targets, rows);
+                    model.reset();
+                    currentRegion[0] = regionId;
+                }
+                String condition = rs.getString(4);
+                model.observe(rs.getTimestamp(2).toLocalDateTime().toEpochSecond(ZoneOffset.UTC), rs.getFloat(3),
+                        condition != null ? WeatherCondition.valueOf(condition) : null);
+                observations[0]++;
+            }, fromRegionId, toRegionId, historyStart);
+            emit(currentRegion[0], model, targets, rows);
+
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows, WRITE_BATCH_SIZE, (ps, row) -> {
+                ps.setLong(1, (Long) row[0]);
+                ps.setTimestamp(2, (Timestamp) row[1]);
+                ps.setFloat(3, (Float) row[2]);
+                ps.setString(4, (String) row[3]);
+            });
+        });
+        // The upsert bypasses the persistence context; drop cached forecast versions as soon as this range is committed.
+        if (!rows.isEmpty()) {
+            entityVersionCache.evictAll(WeatherForecast.class);
+        }
+
+        counters.observations.add(observations[0]);
+        counters.forecastsWritten.add(rows.size());
+        counters.regionsForecast.add(targets.length > 0 ? rows.size() / targets.length : 0);
+    }
+
+    private static void emit(long regionId, ForecastModel model, long[] targets, List<Object[]> rows) {
+        if (regionId < 0 || !model.hasHistory()) {
+            return;
+        }
+        String condition = model.likelyCondition().name();
+        for (long target : targets) {
+            rows.add(new Object[]{
+                    regionId,
+                    Timestamp.valueOf(LocalDateTime.ofEpochSecond(target, 0, ZoneOffset.UTC)),
+                    model.temperatureAt(target),
+                    condition});
+        }
+    }
+
+    private static final class RunCounters {
+        private final LongAdder regionsForecast = new LongAdder();
+        private final LongAdder observations = new LongAdder();
+        private final LongAdder forecastsWritten = new LongAdder();
+    }
+
+    private final class RegionRangeTask extends RecursiveAction {
+        private final long[] regionIds;
+        private final int from;
+        private final int to;
+        private final Timestamp historyStart;
+        private final long[] targets;
+        private final RunCounters counters;
+
+        RegionRangeTask(long[] regionIds, int from, int to, Timestamp historyStart, long[] targets, RunCounters counters) {
+            this.regionIds = regionIds;
+            this.from = from;
+            this.to = to;
+            this.historyStart = historyStart;
+            this.targets = targets;
+            this.counters = counters;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunkSize) {
+                forecastRange(regionIds[from], regionIds[to - 1], historyStart, targets, counters);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RegionRangeTask(regionIds, from, middle, historyStart, targets, counters),
+                    new RegionRangeTask(regionIds, middle, to, historyStart, targets, counters));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package org.example.climatica.weather_forecast;
+
+import org.example.climatica.model.WeatherCondition;
+
+/**
+ * Online damped Holt smoothing of temperature over irregularly spaced observations, plus exponentially decayed
+ * condition counts. State is constant-size, so history can be fed row by row and never held in memory.
+ */
+final class ForecastModel {
+
+    private static final double ALPHA = 0.5;
+    private static final double BETA = 0.2;
+    private static final double PHI = 0.98;
+    private static final double CONDITION_DECAY = 0.8;
+    private static final WeatherCondition[] CONDITIONS = WeatherCondition.values();
+
+    private final double[] conditionWeights = new double[CONDITIONS.length];
+    private double level;
+    private double trend;
+    private long lastEpochSecond;
+    private int observations;
+
+    void reset() {
+        level = 0;
+        trend = 0;
+        lastEpochSecond = 0;
+        observations = 0;
+        for (int i = 0; i < conditionWeights.length; i++) {
+            conditionWeights[i] = 0;
+        }
+    }
+
+    void observe(long epochSecond, double temperature, WeatherCondition condition) {
+        if (observations == 0) {
+            level = temperature;
+            trend = 0;
+        } else {
+            double hours = (epochSecond - lastEpochSecond) / 3600.0;
+            double previousLevel = level;
+            level = ALPHA * temperature + (1 - ALPHA) * (level + dampedTrend(hours));
+            if (hours > 0) {
+                trend = BETA * (level - previousLevel) / hours + (1 - BETA) * trend;
+            }
+        }
+        for (int i = 0; i < conditionWeights.length; i++) {
+            conditionWeights[i] *= CONDITION_DECAY;
+        }
+        if (condition != null) {
+            conditionWeights[condition.ordinal()] += 1;
+        }
+        lastEpochSecond = Math.max(lastEpochSecond, epochSecond);
+        observations++;
+    }
+
+    boolean hasHistory() {
+        return observations > 0;
+    }
+
+    float temperatureAt(long epochSecond) {
+        return (float) (level + dampedTrend((epochSecond - lastEpochSecond) / 3600.0));
+    }
+
+    WeatherCondition likelyCondition() {
+        int best = 0;
+        for (int i = 1; i < conditionWeights.length; i++) {
+            if (conditionWeights[i] > conditionWeights[best]) {
+                best = i;
+            }
+        }
+        return CONDITIONS[best];
+    }
+
+    private double dampedTrend(double hours) {
+        if (hours <= 0) {
+            return 0;
+        }
+        return trend * PHI * (1 - Math.pow(PHI, hours)) / (1 - PHI);
+    }
+}
@@ -1,16 +1,26 @@
 package org.example.climatica.weather_forecast;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import org.example.climatica.etag.ConditionalResponses;
+import org.example.climatica.etag.EntityVersionCache;
+import org.example.climatica.model.WeatherForecast;
+import org.example.climatica.streaming.JsonArrayStreams;
 import org.example.climatica.weather_forecast.dto.CreateWeatherForecastDto;
+import org.example.climatica.weather_forecast.dto.ForecastRunStatus;
 import org.example.climatica.weather_forecast.dto.UpdateWeatherForecastDto;
 import org.example.climatica.weather_forecast.dto.WeatherForecastDto;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeParseException;
 import java.util.Arrays;
@@ -21,25 +31,65 @@ import java.util.List;
 public class WeatherForecastController {
 
     private final WeatherForecastService weatherForecastService;
+    private final ForecastEngine forecastEngine;
+    private final ObjectMapper objectMapper;
+    private final EntityVersionCache entityVersionCache;
+    private static final String GENERATE_STATUS_PATH = "/region/weather/forecast/generate";
     private static final List<String> VALID_WEATHER_CONDITIONS = Arrays.asList("CLEAR", "CLOUDY", "RAIN", "SNOW", "FOG", "STORM");
 
-    public WeatherForecastController(WeatherForecastService weatherForecastService) {
+    public WeatherForecastController(WeatherForecastService weatherForecastService, ForecastEngine forecastEngine,
+                                     ObjectMapper objectMapper, EntityVersionCache entityVersionCache) {
         this.weatherForecastService = weatherForecastService;
+        this.forecastEngine = forecastEngine;
+        this.objectMapper = objectMapper;
+        this.entityVersionCache = entityVersionCache;
+    }
+
+    @Operation(summary = "Get forecasts for a region within a date-time window",
+            description = "Returns all forecasts with startDateTime <= dateTime <= endDateTime ordered by dateTime. " +
+                    "The array is streamed as rows are read from the database.",
+            responses = {
+                    @ApiResponse(description = "Forecasts found", responseCode = "200", content = @Content(schema = @Schema(implementation = WeatherForecastDto.class))),
+                    @ApiResponse(description = "Invalid region ID or date range", responseCode = "400"),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401")
+            })
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> getForecastsInRange(@RequestParam Long regionId,
+                                                                     @RequestParam String startDateTime,
+                                                                     @RequestParam String endDateTime) {
+        if (regionId == null || regionId <= 0 || isValidDateTime(startDateTime) || isValidDateTime(endDateTime)) {
+            return ResponseEntity.badRequest().build();
+        }
+        LocalDateTime start = LocalDateTime.parse(startDateTime);
+        LocalDateTime end = LocalDateTime.parse(endDateTime);
+        if (end.isBefore(start)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        StreamingResponseBody body = outputStream -> JsonArrayStreams.<WeatherForecastDto>write(objectMapper, outputStream,
+                consumer -> weatherForecastService.forEachForecastInRange(regionId, start, end, consumer));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
     }
 
     @Operation(summary = "Get weather forecast by ID", responses = {
             @ApiResponse(description = "Forecast found", responseCode = "200", content = @Content(schema = @Schema(implementation = WeatherForecastDto.class))),
+            @ApiResponse(description = "Forecast not modified since the ETag in If-None-Match", responseCode = "304"),
             @ApiResponse(description = "Invalid forecast ID", responseCode = "400"),
             @ApiResponse(description = "Unauthorized", responseCode = "401"),
             @ApiResponse(description = "Forecast not found", responseCode = "404")
     })
     @GetMapping("/{forecastId}")
-    public ResponseEntity<WeatherForecastDto> getForecast(@PathVariable Long forecastId) {
+    public ResponseEntity<WeatherForecastDto> getForecast(@PathVariable Long forecastId, WebRequest request) {
         if (forecastId == null || forecastId <= 0) {
             return ResponseEntity.badRequest().build();
         }
+        if (ConditionalResponses.notModified(request, entityVersionCache.get(WeatherForecast.class, forecastId), forecastId)) {
+            return null;
+        }
         WeatherForecastDto forecast = weatherForecastService.getForecastById(forecastId);
-        return forecast != null ? ResponseEntity.ok(forecast) : ResponseEntity.notFound().build();
+        return forecast != null
+                ? ConditionalResponses.ok(forecastId, new EntityVersionCache.VersionStamp(forecast.getVersion(), forecast.getLastModified()), forecast)
+                : ResponseEntity.notFound().build();
     }
 
     @Operation(summary = "Update a weather forecast", responses = {
@@ -85,6 +135,29 @@ public class WeatherForecastController {
         return !VALID_WEATHER_CONDITIONS.contains(condition);
     }
 
+    @Operation(summary = "Generate forecasts for all regions from observed history",
+            description = "Starts the run in the background and returns at once; poll GET /region/weather/forecast/generate for the outcome.",
+            responses = {
+                    @ApiResponse(description = "Run started", responseCode = "202", content = @Content(schema = @Schema(implementation = ForecastRunStatus.class))),
+                    @ApiResponse(description = "Unauthorized", responseCode = "401"),
+                    @ApiResponse(description = "A run is already in progress", responseCode = "409")
+            })
+    @PostMapping("/generate")
+    public ResponseEntity<ForecastRunStatus> generateForecasts() {
+        return forecastEngine.start()
+                .map(status -> ResponseEntity.accepted().location(URI.create(GENERATE_STATUS_PATH)).body(status))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body(forecastEngine.getStatus()));
+    }
+
+    @Operation(summary = "Get the state of the current or last forecast generation run", responses = {
+            @ApiResponse(description = "Run status", responseCode = "200", content = @Content(schema = @Schema(implementation = ForecastRunStatus.class))),
+            @ApiResponse(description = "Unauthorized", responseCode = "401")
+    })
+    @GetMapping("/generate")
+    public ResponseEntity<ForecastRunStatus> getGenerationStatus() {
+        return ResponseEntity.ok(forecastEngine.getStatus());
+    }
+
     @Operation(summary = "Delete a weather forecast", responses = {
             @ApiResponse(description = "Forecast deleted", responseCode = "200"),
             @ApiResponse(description = "Invalid forecast ID", responseCode = "400"),
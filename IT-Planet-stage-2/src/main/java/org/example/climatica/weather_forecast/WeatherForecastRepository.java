@@ -1,7 +1,25 @@
 package org.example.climatica.weather_forecast;
 
+import jakarta.persistence.QueryHint;
 import org.example.climatica.model.WeatherForecast;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
 
 public interface WeatherForecastRepository extends JpaRepository<WeatherForecast, Long> {
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM WeatherForecast f WHERE f.regionId = :regionId AND f.dateTime >= :from AND f.dateTime <= :to " +
+            "ORDER BY f.dateTime, f.id")
+    Stream<WeatherForecast> streamByRegionIdAndDateTimeBetween(@Param("regionId") Long regionId,
+                                                               @Param("from") LocalDateTime from,
+                                                               @Param("to") LocalDateTime to);
 }
@@ -4,17 +4,40 @@ import org.example.climatica.weather_forecast.dto.WeatherForecastDto;
 import org.example.climatica.model.WeatherForecast;
 import org.example.climatica.weather_forecast.dto.CreateWeatherForecastDto;
 import org.example.climatica.weather_forecast.dto.UpdateWeatherForecastDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class WeatherForecastService {
 
     private final WeatherForecastRepository repository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     public WeatherForecastService(WeatherForecastRepository repository) {
         this.repository = repository;
     }
 
+    @Transactional(readOnly = true)
+    public long forEachForecastInRange(Long regionId, LocalDateTime from, LocalDateTime to, Consumer<WeatherForecastDto> consumer) {
+        long count = 0;
+        try (Stream<WeatherForecast> forecasts = repository.streamByRegionIdAndDateTimeBetween(regionId, from, to)) {
+            for (WeatherForecast forecast : (Iterable<WeatherForecast>) forecasts::iterator) {
+                consumer.accept(convertToDto(forecast));
+                entityManager.detach(forecast);
+                count++;
+            }
+        }
+        return count;
+    }
+
     public WeatherForecastDto getForecastById(Long id) {
         return repository.findById(id).map(this::convertToDto).orElse(null);
     }
@@ -52,6 +75,8 @@ public class WeatherForecastService {
         dto.setWeatherCondition(forecast.getWeatherCondition());
         dto.setDateTime(forecast.getDateTime());
         dto.setRegionId(forecast.getRegionId());
+        dto.setVersion(forecast.getVersion());
+        dto.setLastModified(forecast.getLastModified());
         return dto;
     }
 }
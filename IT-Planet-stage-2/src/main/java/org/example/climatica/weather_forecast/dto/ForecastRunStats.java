@@ -0,0 +1,17 @@
+package org.example.climatica.weather_forecast.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ForecastRunStats {
+    private LocalDateTime startedAt;
+    private long regions;
+    private long regionsForecast;
+    private long observations;
+    private long forecastsWritten;
+    private long durationMillis;
+}
@@ -0,0 +1,19 @@
+package org.example.climatica.weather_forecast.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+@AllArgsConstructor
+public class ForecastRunStatus {
+    private State state;
+    private LocalDateTime startedAt;
+    private ForecastRunStats lastRun;
+    private String error;
+
+    public enum State {
+        IDLE, RUNNING, SUCCEEDED, FAILED
+    }
+}
@@ -3,6 +3,7 @@ package org.example.climatica.weather_forecast.dto;
 import lombok.Data;
 import org.example.climatica.model.WeatherCondition;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 
 @Data
@@ -12,4 +13,6 @@ public class WeatherForecastDto {
     private Float temperature;
     private WeatherCondition weatherCondition;
     private Long regionId;
+    private long version;
+    private Instant lastModified;
 }
@@ -0,0 +1,11 @@
+-- Trigram indexes only speed up the ILIKE search; without pg_trgm (or the right to create it) startup continues
+-- and the search falls back to sequential scans. Single-quoted body: the script splitter does not understand $$.
+DO '
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+    CREATE INDEX IF NOT EXISTS idx_users_first_name_trgm ON users USING gin (first_name gin_trgm_ops);
+    CREATE INDEX IF NOT EXISTS idx_users_last_name_trgm ON users USING gin (last_name gin_trgm_ops);
+    CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (email gin_trgm_ops);
+EXCEPTION WHEN insufficient_privilege OR undefined_file OR feature_not_supported THEN
+    RAISE WARNING ''account search trigram indexes skipped: %'', SQLERRM;
+END';
@@ -0,0 +1 @@
+CREATE UNIQUE INDEX IF NOT EXISTS uq_weather_forecast_generated ON weather_forecast (region_id, date_time) WHERE generated;
@@ -0,0 +1,74 @@
+package org.example.climatica.secure;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SessionTokenFilterTest {
+
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+
+    private final SessionTokenService sessionTokenService =
+            new SessionTokenService("0123456789abcdef0123456789abcdef", Duration.ofHours(1));
+
+    @Test
+    void prometheusRequiresSessionWhenNoScrapeTokenIsConfigured() throws Exception {
+        SessionTokenFilter filter = new SessionTokenFilter(sessionTokenService, "");
+
+        assertThat(status(filter, request(PROMETHEUS_PATH))).isEqualTo(401);
+
+        MockHttpServletRequest withBearer = request(PROMETHEUS_PATH);
+        withBearer.addHeader("Authorization", "Bearer ");
+        assertThat(status(filter, withBearer)).isEqualTo(401);
+    }
+
+    @Test
+    void prometheusAcceptsConfiguredScrapeToken() throws Exception {
+        SessionTokenFilter filter = new SessionTokenFilter(sessionTokenService, "scrape-secret");
+
+        MockHttpServletRequest valid = request(PROMETHEUS_PATH);
+        valid.addHeader("Authorization", "Bearer scrape-secret");
+        assertThat(status(filter, valid)).isEqualTo(200);
+
+        MockHttpServletRequest wrong = request(PROMETHEUS_PATH);
+        wrong.addHeader("Authorization", "Bearer scrape-secrets");
+        assertThat(status(filter, wrong)).isEqualTo(401);
+
+        assertThat(status(filter, request(PROMETHEUS_PATH))).isEqualTo(401);
+    }
+
+    @Test
+    void scrapeTokenDoesNotOpenOtherEndpoints() throws Exception {
+        SessionTokenFilter filter = new SessionTokenFilter(sessionTokenService, "scrape-secret");
+
+        MockHttpServletRequest health = request("/actuator/health");
+        health.addHeader("Authorization", "Bearer scrape-secret");
+        assertThat(status(filter, health)).isEqualTo(401);
+    }
+
+    @Test
+    void sessionCookieOpensPrometheus() throws Exception {
+        SessionTokenFilter filter = new SessionTokenFilter(sessionTokenService, "scrape-secret");
+
+        MockHttpServletRequest withSession = request(PROMETHEUS_PATH);
+        withSession.setCookies(new Cookie(SessionTokenService.COOKIE_NAME, sessionTokenService.issue(1L)));
+        assertThat(status(filter, withSession)).isEqualTo(200);
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        return new MockHttpServletRequest("GET", path);
+    }
+
+    private static int status(SessionTokenFilter filter, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, response, chain);
+        return chain.getRequest() != null ? 200 : response.getStatus();
+    }
+}
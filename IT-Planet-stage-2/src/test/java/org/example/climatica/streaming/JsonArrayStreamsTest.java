@@ -0,0 +1,37 @@
+package org.example.climatica.streaming;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JsonArrayStreamsTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void writesCompleteArrayWhenProducerSucceeds() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        JsonArrayStreams.<Integer>write(objectMapper, output, consumer -> List.of(1, 2, 3).forEach(consumer));
+
+        assertThat(output.toString(UTF_8)).isEqualTo("[1,2,3]");
+    }
+
+    @Test
+    void leavesArrayUnterminatedWhenProducerFails() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        assertThatThrownBy(() -> JsonArrayStreams.<Integer>write(objectMapper, output, consumer -> {
+            consumer.accept(1);
+            throw new IllegalStateException("cursor failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(output.toString(UTF_8)).doesNotEndWith("]");
+    }
+}
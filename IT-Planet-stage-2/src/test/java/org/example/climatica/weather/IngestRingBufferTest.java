@@ -0,0 +1,122 @@
+package org.example.climatica.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IngestRingBufferTest {
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        assertThat(new IngestRingBuffer<Integer>(0).capacity()).isEqualTo(2);
+        assertThat(new IngestRingBuffer<Integer>(1).capacity()).isEqualTo(2);
+        assertThat(new IngestRingBuffer<Integer>(2).capacity()).isEqualTo(2);
+        assertThat(new IngestRingBuffer<Integer>(3).capacity()).isEqualTo(4);
+        assertThat(new IngestRingBuffer<Integer>(8).capacity()).isEqualTo(8);
+        assertThat(new IngestRingBuffer<Integer>(9).capacity()).isEqualTo(16);
+        assertThat(new IngestRingBuffer<Integer>(1000).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    void rejectsOffersWhenFullUntilDrained() {
+        IngestRingBuffer<Integer> ring = new IngestRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(ring.offer(i)).isTrue();
+        }
+        assertThat(ring.offer(4)).isFalse();
+        assertThat(ring.size()).isEqualTo(4);
+
+        List<Integer> drained = new ArrayList<>();
+        assertThat(ring.drainTo(drained, 1)).isEqualTo(1);
+        assertThat(ring.offer(4)).isTrue();
+        assertThat(ring.offer(5)).isFalse();
+
+        assertThat(ring.drainTo(drained, Integer.MAX_VALUE)).isEqualTo(4);
+        assertThat(drained).containsExactly(0, 1, 2, 3, 4);
+        assertThat(ring.size()).isZero();
+    }
+
+    @Test
+    void preservesOrderAcrossWrapAround() {
+        IngestRingBuffer<Integer> ring = new IngestRingBuffer<>(8);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        for (int round = 0; round < 100; round++) {
+            int batch = 1 + round % ring.capacity();
+            for (int i = 0; i < batch; i++) {
+                assertThat(ring.offer(next++)).isTrue();
+            }
+            ring.drainTo(drained, 3);
+            ring.drainTo(drained, Integer.MAX_VALUE);
+        }
+        assertThat(drained).hasSize(next);
+        for (int i = 0; i < next; i++) {
+            assertThat(drained.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseAndDuplicateNothing() throws Exception {
+        int producers = 4;
+        int perProducer = 50_000;
+        int total = producers * perProducer;
+        IngestRingBuffer<Integer> ring = new IngestRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int first = p * perProducer;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = first; i < first + perProducer; i++) {
+                        while (!ring.offer(i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            BitSet seen = new BitSet(total);
+            int[] lastByProducer = new int[producers];
+            Arrays.fill(lastByProducer, -1);
+            List<Integer> batch = new ArrayList<>();
+            int received = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received < total && System.nanoTime() < deadline) {
+                batch.clear();
+                ring.drainTo(batch, 128);
+                for (int value : batch) {
+                    assertThat(seen.get(value)).as("duplicate %d", value).isFalse();
+                    seen.set(value);
+                    int producer = value / perProducer;
+                    assertThat(value).as("order within producer %d", producer).isGreaterThan(lastByProducer[producer]);
+                    lastByProducer[producer] = value;
+                }
+                received += batch.size();
+            }
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.SECONDS);
+            }
+
+            assertThat(received).isEqualTo(total);
+            assertThat(seen.cardinality()).isEqualTo(total);
+            assertThat(ring.size()).isZero();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.weather.dto.WeatherDataResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatestWeatherCacheTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void loadThatRacesACommittedInsertIsNotCached() {
+        LatestWeatherCache cache = new LatestWeatherCache(100);
+
+        assertThat(cache.get(1L)).isNull();
+        long ticket = cache.ticket();
+        cache.offer(1L, observation(2L, T0.plusHours(1)));
+        cache.putIfNewer(1L, observation(1L, T0), ticket);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void loadAfterACommittedInsertIsCached() {
+        LatestWeatherCache cache = new LatestWeatherCache(100);
+
+        cache.offer(1L, observation(2L, T0.plusHours(1)));
+        cache.putIfNewer(1L, observation(2L, T0.plusHours(1)), cache.ticket());
+
+        assertThat(cache.get(1L).getId()).isEqualTo(2L);
+    }
+
+    @Test
+    void loadThatRacesAnEvictionIsNotCached() {
+        LatestWeatherCache cache = new LatestWeatherCache(100);
+
+        long ticket = cache.ticket();
+        cache.evict(1L);
+        cache.putIfNewer(1L, observation(1L, T0), ticket);
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void offerReplacesOnlyOlderCachedValues() {
+        LatestWeatherCache cache = new LatestWeatherCache(100);
+        cache.putIfNewer(1L, observation(2L, T0.plusHours(1)), cache.ticket());
+
+        cache.offer(1L, observation(1L, T0));
+        assertThat(cache.get(1L).getId()).isEqualTo(2L);
+
+        cache.offer(1L, observation(3L, T0.plusHours(2)));
+        assertThat(cache.get(1L).getId()).isEqualTo(3L);
+    }
+
+    @Test
+    void keepsAtMostMaxSizeEntriesPerSegment() {
+        LatestWeatherCache cache = new LatestWeatherCache(16);
+        for (long regionId = 1; regionId <= 1000; regionId++) {
+            cache.putIfNewer(regionId, observation(regionId, T0), cache.ticket());
+        }
+
+        assertThat(cache.getStats().getSize()).isLessThanOrEqualTo(16);
+        assertThat(cache.getStats().getEvictions()).isGreaterThan(0);
+    }
+
+    private static WeatherDataResponse observation(Long id, LocalDateTime measurementDateTime) {
+        WeatherDataResponse response = new WeatherDataResponse();
+        response.setId(id);
+        response.setMeasurementDateTime(measurementDateTime);
+        return response;
+    }
+}
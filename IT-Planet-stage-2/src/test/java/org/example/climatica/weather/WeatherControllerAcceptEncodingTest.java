@@ -0,0 +1,39 @@
+package org.example.climatica.weather;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherControllerAcceptEncodingTest {
+
+    @Test
+    void acceptsListedGzip() {
+        assertThat(WeatherController.acceptsGzip("gzip")).isTrue();
+        assertThat(WeatherController.acceptsGzip("deflate, GZIP")).isTrue();
+        assertThat(WeatherController.acceptsGzip("x-gzip")).isTrue();
+        assertThat(WeatherController.acceptsGzip("br;q=1.0, gzip;q=0.5")).isTrue();
+    }
+
+    @Test
+    void rejectsGzipWithZeroQuality() {
+        assertThat(WeatherController.acceptsGzip("gzip;q=0")).isFalse();
+        assertThat(WeatherController.acceptsGzip("gzip; q=0.000, deflate")).isFalse();
+        assertThat(WeatherController.acceptsGzip("*, gzip;q=0")).isFalse();
+    }
+
+    @Test
+    void fallsBackToWildcard() {
+        assertThat(WeatherController.acceptsGzip("*")).isTrue();
+        assertThat(WeatherController.acceptsGzip("deflate, *;q=0.1")).isTrue();
+        assertThat(WeatherController.acceptsGzip("*;q=0")).isFalse();
+        assertThat(WeatherController.acceptsGzip("gzip;q=0.2, *;q=0")).isTrue();
+    }
+
+    @Test
+    void rejectsMissingOrUnrelatedEncodings() {
+        assertThat(WeatherController.acceptsGzip(null)).isFalse();
+        assertThat(WeatherController.acceptsGzip("")).isFalse();
+        assertThat(WeatherController.acceptsGzip("identity, br")).isFalse();
+        assertThat(WeatherController.acceptsGzip("gzip;q=abc")).isFalse();
+    }
+}
@@ -0,0 +1,73 @@
+package org.example.climatica.weather;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherDedupFilterTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Test
+    void remembersAndForgetsObservations() {
+        WeatherDedupFilter filter = new WeatherDedupFilter(Duration.ofHours(1), 100);
+
+        assertThat(filter.mightContain(1L, T0)).isFalse();
+        filter.remember(1L, T0);
+        assertThat(filter.mightContain(1L, T0)).isTrue();
+        assertThat(filter.mightContain(2L, T0)).isFalse();
+        assertThat(filter.mightContain(1L, T0.plusMinutes(1))).isFalse();
+
+        filter.forget(1L, T0);
+        assertThat(filter.mightContain(1L, T0)).isFalse();
+    }
+
+    @Test
+    void ignoresIncompleteKeys() {
+        WeatherDedupFilter filter = new WeatherDedupFilter(Duration.ofHours(1), 100);
+
+        filter.remember(null, T0);
+        filter.remember(1L, null);
+
+        assertThat(filter.mightContain(null, T0)).isFalse();
+        assertThat(filter.mightContain(1L, null)).isFalse();
+    }
+
+    @Test
+    void keysSurviveOneRotationBySizeAndDropAfterTheSecond() {
+        WeatherDedupFilter filter = new WeatherDedupFilter(Duration.ofHours(1), 4);
+
+        filter.remember(1L, T0);
+        filter.remember(2L, T0);
+        filter.remember(3L, T0);
+        assertThat(filter.mightContain(1L, T0)).isTrue();
+        assertThat(filter.mightContain(2L, T0)).isTrue();
+
+        filter.remember(4L, T0);
+        filter.remember(5L, T0);
+        assertThat(filter.mightContain(1L, T0)).isFalse();
+        assertThat(filter.mightContain(2L, T0)).isFalse();
+        assertThat(filter.mightContain(3L, T0)).isTrue();
+        assertThat(filter.mightContain(4L, T0)).isTrue();
+        assertThat(filter.mightContain(5L, T0)).isTrue();
+    }
+
+    @Test
+    void keysSurviveOneRotationByWindowAndDropAfterTheSecond() throws InterruptedException {
+        WeatherDedupFilter filter = new WeatherDedupFilter(Duration.ofMillis(40), 100);
+
+        filter.remember(1L, T0);
+        Thread.sleep(30);
+        filter.remember(2L, T0);
+        assertThat(filter.mightContain(1L, T0)).isTrue();
+
+        Thread.sleep(30);
+        filter.remember(3L, T0);
+        assertThat(filter.mightContain(1L, T0)).isFalse();
+        assertThat(filter.mightContain(2L, T0)).isTrue();
+        assertThat(filter.mightContain(3L, T0)).isTrue();
+    }
+}
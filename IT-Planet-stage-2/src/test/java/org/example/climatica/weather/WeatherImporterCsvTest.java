@@ -0,0 +1,64 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.weather.dto.WeatherDataCreateRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WeatherImporterCsvTest {
+
+    private static final String HEADER =
+            "region_id,measurement_date_time,temperature,humidity,wind_speed,weather_condition,precipitation_amount";
+
+    @Test
+    void parsesRowInHeaderOrder() {
+        int[] columns = WeatherImporter.csvColumns(HEADER);
+
+        WeatherDataCreateRequest request = WeatherImporter.parseCsv("7,2024-03-01T12:30:00,-4.5,81,3.2,SNOW,1.5", columns);
+
+        assertThat(request.getRegionId()).isEqualTo(7L);
+        assertThat(request.getMeasurementDateTime()).isEqualTo(LocalDateTime.of(2024, 3, 1, 12, 30));
+        assertThat(request.getTemperature()).isEqualTo(-4.5f);
+        assertThat(request.getHumidity()).isEqualTo(81f);
+        assertThat(request.getWindSpeed()).isEqualTo(3.2f);
+        assertThat(request.getWeatherCondition()).isEqualTo("SNOW");
+        assertThat(request.getPrecipitationAmount()).isEqualTo(1.5f);
+    }
+
+    @Test
+    void readsExportedCsvWithExtraQuotedColumnsAndPostgresTimestamps() {
+        int[] columns = WeatherImporter.csvColumns(
+                "\"ID\",\"Precipitation_Amount\",\"region_id\",weather_condition,wind_speed,humidity,temperature,measurement_date_time");
+
+        WeatherDataCreateRequest request = WeatherImporter.parseCsv(
+                "100,0, \"3\" ,\"CLEAR\",1,40,21.5,\"2024-06-15 08:00:00\"", columns);
+
+        assertThat(request.getRegionId()).isEqualTo(3L);
+        assertThat(request.getMeasurementDateTime()).isEqualTo(LocalDateTime.of(2024, 6, 15, 8, 0));
+        assertThat(request.getTemperature()).isEqualTo(21.5f);
+        assertThat(request.getWeatherCondition()).isEqualTo("CLEAR");
+        assertThat(request.getPrecipitationAmount()).isZero();
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumn() {
+        assertThatThrownBy(() -> WeatherImporter.csvColumns("region_id,measurement_date_time,temperature"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("humidity");
+    }
+
+    @Test
+    void failsOnMalformedRows() {
+        int[] columns = WeatherImporter.csvColumns(HEADER);
+
+        assertThatThrownBy(() -> WeatherImporter.parseCsv("x,2024-03-01T12:30:00,1,1,1,CLEAR,0", columns))
+                .isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> WeatherImporter.parseCsv("1,01.03.2024,1,1,1,CLEAR,0", columns))
+                .isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> WeatherImporter.parseCsv("1,2024-03-01T12:30:00,1", columns))
+                .isInstanceOf(ArrayIndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,149 @@
+package org.example.climatica.weather;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.example.climatica.model.Region;
+import org.example.climatica.model.WeatherCondition;
+import org.example.climatica.model.WeatherData;
+import org.example.climatica.region.RegionRepository;
+import org.example.climatica.secure.SessionTokenService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * A search page is built from one projection query plus one batched forecast query, so the number of prepared
+ * statements per request must not depend on the page size.
+ */
+@SpringBootTest(properties = "forecast.engine.cron=-")
+@AutoConfigureMockMvc
+@Testcontainers(disabledWithoutDocker = true)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class WeatherSearchStatementCountTest {
+
+    private static final int[] PAGE_SIZES = {1, 10, 100};
+    private static final int OBSERVATIONS = 250;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:12");
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private RegionRepository regionRepository;
+    @Autowired
+    private WeatherRepository weatherRepository;
+    @Autowired
+    private SessionTokenService sessionTokenService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Long regionId;
+    private Statistics statistics;
+
+    @BeforeAll
+    void seed() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Region region = new Region();
+        region.setName("Statement count");
+        region.setLatitude(55.0);
+        region.setLongitude(37.0);
+        region = regionRepository.save(region);
+        regionId = region.getId();
+
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<WeatherData> observations = new ArrayList<>(OBSERVATIONS);
+        for (int i = 0; i < OBSERVATIONS; i++) {
+            WeatherData weatherData = new WeatherData();
+            weatherData.setRegion(region);
+            weatherData.setTemperature(i % 40);
+            weatherData.setHumidity(50);
+            weatherData.setWindSpeed(3);
+            weatherData.setWeatherCondition(WeatherCondition.CLEAR);
+            weatherData.setPrecipitationAmount(0);
+            weatherData.setMeasurementDateTime(start.plusMinutes(i));
+            weatherData.setWeatherForecast(new ArrayList<>(List.of((long) i, (long) i + OBSERVATIONS)));
+            observations.add(weatherData);
+        }
+        weatherRepository.saveAll(observations);
+    }
+
+    @Test
+    void offsetPagesPrepareTheSameNumberOfStatementsForEveryPageSize() throws Exception {
+        Map<Integer, Long> statementsBySize = new LinkedHashMap<>();
+        for (int size : PAGE_SIZES) {
+            MockHttpServletRequestBuilder request = get("/region/weather/search")
+                    .param("regionId", regionId.toString())
+                    .param("page", "1")
+                    .param("size", Integer.toString(size));
+            JsonNode page = search(request, statementsBySize, size);
+            assertThat(page).hasSize(size);
+            assertThat(page.get(0).get("weatherForecast")).hasSize(2);
+        }
+        assertSameCount(statementsBySize);
+    }
+
+    @Test
+    void cursorPagesPrepareTheSameNumberOfStatementsForEveryPageSize() throws Exception {
+        Map<Integer, Long> statementsBySize = new LinkedHashMap<>();
+        for (int size : PAGE_SIZES) {
+            String cursor = search(get("/region/weather/search")
+                    .param("regionId", regionId.toString())
+                    .param("cursor", "")
+                    .param("size", Integer.toString(size)), new LinkedHashMap<>(), size)
+                    .get("nextCursor").asText();
+
+            JsonNode page = search(get("/region/weather/search")
+                    .param("regionId", regionId.toString())
+                    .param("cursor", cursor)
+                    .param("size", Integer.toString(size)), statementsBySize, size);
+            assertThat(page.get("items")).hasSize(size);
+            assertThat(page.get("items").get(0).get("weatherForecast")).hasSize(2);
+        }
+        assertSameCount(statementsBySize);
+    }
+
+    private JsonNode search(MockHttpServletRequestBuilder request, Map<Integer, Long> statementsBySize, int size) throws Exception {
+        Cookie session = new Cookie(SessionTokenService.COOKIE_NAME, sessionTokenService.issue(1L));
+        statistics.clear();
+        String body = mockMvc.perform(request.cookie(session))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        statementsBySize.put(size, statistics.getPrepareStatementCount());
+        return objectMapper.readTree(body);
+    }
+
+    private static void assertSameCount(Map<Integer, Long> statementsBySize) {
+        assertThat(statementsBySize.values())
+                .as("prepared statements per request by page size: %s", statementsBySize)
+                .allMatch(count -> count > 0)
+                .containsOnly(statementsBySize.values().iterator().next());
+    }
+}
@@ -0,0 +1,71 @@
+package org.example.climatica.weather;
+
+import org.example.climatica.weather.dto.WeatherDataCreateRequest;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WeatherValidationTest {
+
+    @Test
+    void acceptsCompleteObservation() {
+        assertThat(WeatherValidation.isValid(valid())).isTrue();
+    }
+
+    @Test
+    void acceptsNegativeTemperature() {
+        WeatherDataCreateRequest request = valid();
+        request.setTemperature(-30);
+        assertThat(WeatherValidation.isValid(request)).isTrue();
+    }
+
+    @Test
+    void rejectsMissingOrNonPositiveRegion() {
+        WeatherDataCreateRequest request = valid();
+        request.setRegionId(null);
+        assertThat(WeatherValidation.isValid(request)).isFalse();
+        request.setRegionId(0L);
+        assertThat(WeatherValidation.isValid(request)).isFalse();
+    }
+
+    @Test
+    void rejectsMissingMeasurementTime() {
+        WeatherDataCreateRequest request = valid();
+        request.setMeasurementDateTime(null);
+        assertThat(WeatherValidation.isValid(request)).isFalse();
+    }
+
+    @Test
+    void rejectsNegativeWindOrPrecipitation() {
+        WeatherDataCreateRequest windy = valid();
+        windy.setWindSpeed(-1);
+        assertThat(WeatherValidation.isValid(windy)).isFalse();
+
+        WeatherDataCreateRequest wet = valid();
+        wet.setPrecipitationAmount(-0.1f);
+        assertThat(WeatherValidation.isValid(wet)).isFalse();
+    }
+
+    @Test
+    void rejectsUnknownCondition() {
+        WeatherDataCreateRequest request = valid();
+        request.setWeatherCondition("clear");
+        assertThat(WeatherValidation.isValid(request)).isFalse();
+        request.setWeatherCondition(null);
+        assertThat(WeatherValidation.isValid(request)).isFalse();
+    }
+
+    private static WeatherDataCreateRequest valid() {
+        WeatherDataCreateRequest request = new WeatherDataCreateRequest();
+        request.setRegionId(1L);
+        request.setMeasurementDateTime(LocalDateTime.of(2024, 1, 1, 0, 0));
+        request.setTemperature(5);
+        request.setHumidity(60);
+        request.setWindSpeed(2);
+        request.setWeatherCondition("CLEAR");
+        request.setPrecipitationAmount(0);
+        return request;
+    }
+}